@@ -0,0 +1,140 @@
+package com.trenton.updater.api;
+
+import com.sun.net.httpserver.HttpServer;
+import org.bukkit.Server;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CheckLatencyBenchmark {
+    private static final String ETAG = "\"bench\"";
+    private static final Version CURRENT = Version.parse("2.4.0");
+
+    private HttpServer server;
+    private SpigetSource source;
+    private Release cached;
+    private Path dataFolder;
+    private UpdaterImpl updater;
+
+    @Setup
+    public void startServer() throws IOException {
+        HostRateLimiter.setRequestsPerSecond(Long.MAX_VALUE);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(2));
+        server.createContext("/", exchange -> {
+            exchange.getResponseHeaders().add("ETag", ETAG);
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            exchange.sendResponseHeaders(200, JsonParseBenchmark.SPIGET_LATEST.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(JsonParseBenchmark.SPIGET_LATEST);
+            }
+        });
+        server.start();
+        source = new SpigetSource(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/"), 104253);
+        cached = source.fetchLatest(new Context(null)).join();
+        UpdaterImpl.setSharedCacheTtl(Duration.ZERO);
+        dataFolder = Files.createTempDirectory("updater-bench");
+        updater = new UpdaterImpl(new BenchmarkPlugin(dataFolder.toFile()), source);
+    }
+
+    @TearDown
+    public void stopServer() throws IOException {
+        server.stop(0);
+        try (Stream<Path> files = Files.walk(dataFolder)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean fullResponse() {
+        return Version.parse(source.fetchLatest(new Context(null)).join().version()).isNewerThan(CURRENT);
+    }
+
+    @Benchmark
+    public boolean notModified() {
+        return Version.parse(source.fetchLatest(new Context(cached)).join().version()).isNewerThan(CURRENT);
+    }
+
+    @Benchmark
+    public boolean updaterCheck() {
+        return updater.checkForUpdatesAsync(false).join().updateAvailable();
+    }
+
+    private record Context(Release cachedRelease) implements SourceContext {
+        @Override
+        public String userAgent() {
+            return "UpdaterAPI-Benchmark";
+        }
+
+        @Override
+        public Executor executor() {
+            return UpdaterExecutors.worker();
+        }
+
+        @Override
+        public HttpRequest.Builder request(URI uri) {
+            HttpRequest.Builder builder = UpdaterHttp.request(uri, userAgent());
+            return cachedRelease == null ? builder : builder.header("If-None-Match", ETAG);
+        }
+
+        @Override
+        public void remember(Release release, HttpHeaders headers) {
+        }
+    }
+
+    private static final class BenchmarkPlugin extends JavaPlugin {
+        @SuppressWarnings("deprecation")
+        BenchmarkPlugin(File dataFolder) {
+            super(new JavaPluginLoader(quietServer()), new PluginDescriptionFile("UpdaterBenchmark", CURRENT.toString(), BenchmarkPlugin.class.getName()),
+                    dataFolder, new File(dataFolder, "UpdaterBenchmark.jar"));
+        }
+
+        private static Server quietServer() {
+            Logger logger = Logger.getAnonymousLogger();
+            logger.setUseParentHandlers(false);
+            return (Server) Proxy.newProxyInstance(Server.class.getClassLoader(), new Class<?>[]{Server.class},
+                    (proxy, method, args) -> "getLogger".equals(method.getName()) ? logger : null);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.trenton.updater.api;
+
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DownloadBenchmark {
+    @Param({"1", "10", "100"})
+    private int sizeMb;
+
+    private HttpServer server;
+    private URI uri;
+    private Path directory;
+    private File target;
+
+    @Setup(Level.Trial)
+    public void startServer() throws IOException {
+        HostRateLimiter.setRequestsPerSecond(Long.MAX_VALUE);
+        byte[] payload = new byte[sizeMb * 1024 * 1024];
+        new Random(42).nextBytes(payload);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(2));
+        server.createContext("/plugin.jar", exchange -> {
+            exchange.sendResponseHeaders(200, payload.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(payload);
+            }
+        });
+        server.start();
+        uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/plugin.jar");
+        directory = Files.createTempDirectory("updater-bench");
+        target = directory.resolve("Plugin.jar").toFile();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() throws IOException {
+        server.stop(0);
+        Files.deleteIfExists(target.toPath());
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public long pooledBuffers() throws IOException {
+        Files.deleteIfExists(target.toPath());
+        return new UpdateDownloader("UpdaterAPI-Benchmark", null).download(uri, target, null, null).bytes();
+    }
+
+    @Benchmark
+    public long legacyTransferFrom() throws IOException, InterruptedException {
+        Files.deleteIfExists(target.toPath());
+        HttpResponse<InputStream> response = UpdaterHttp.client()
+                .send(UpdaterHttp.request(uri, "UpdaterAPI-Benchmark").GET().build(), HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream inputStream = response.body();
+             ReadableByteChannel readableByteChannel = Channels.newChannel(inputStream);
+             FileOutputStream fileOutputStream = new FileOutputStream(target)) {
+            return fileOutputStream.getChannel().transferFrom(readableByteChannel, 0, Long.MAX_VALUE);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.trenton.updater.api;
+
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JsonParseBenchmark {
+    static final byte[] SPIGET_LATEST = ("{\"uuid\":\"3b4ad0e6-6d6d-4a4e-9f25-0a1f9a2c8d11\",\"id\":562311,"
+            + "\"name\":\"2.4.1\",\"releaseDate\":1728984000,\"downloads\":18342,"
+            + "\"rating\":{\"count\":12,\"average\":4.75},\"resource\":104253}").getBytes(StandardCharsets.UTF_8);
+
+    @Benchmark
+    public String streaming() throws IOException {
+        return SpigetSource.readVersionName(new JsonReader(
+                new InputStreamReader(new ByteArrayInputStream(SPIGET_LATEST), StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public String legacyTree() throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(SPIGET_LATEST)))) {
+            StringBuilder response = new StringBuilder();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                response.append(line);
+            }
+            return JsonParser.parseString(response.toString()).getAsJsonObject().get("name").getAsString().trim();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.trenton.updater.api;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class VersionBenchmark {
+    private static final String[][] PAIRS = {
+            {"1.21.4", "1.21.3"},
+            {"2.0.0", "2.0.0-SNAPSHOT"},
+            {"v3.4.1", "3.4.1"},
+            {"1.2-beta.3", "1.2-beta.11"},
+            {"5.0.0-rc.1+build.42", "4.9.12"},
+            {"1.4b", "1.4"},
+            {"2024.11.03", "2024.10.28"},
+            {"10.0", "9.99.99"}
+    };
+
+    private Version[][] parsed;
+
+    @Setup
+    public void parse() {
+        parsed = new Version[PAIRS.length][];
+        for (int i = 0; i < PAIRS.length; i++) {
+            parsed[i] = new Version[]{Version.parse(PAIRS[i][0]), Version.parse(PAIRS[i][1])};
+        }
+    }
+
+    @Benchmark
+    public void parseAndCompare(Blackhole blackhole) {
+        for (String[] pair : PAIRS) {
+            blackhole.consume(Version.parse(pair[0]).isNewerThan(Version.parse(pair[1])));
+        }
+    }
+
+    @Benchmark
+    public void compareParsed(Blackhole blackhole) {
+        for (Version[] pair : parsed) {
+            blackhole.consume(pair[0].compareTo(pair[1]));
+        }
+    }
+
+    @Benchmark
+    public void legacyRegex(Blackhole blackhole) {
+        for (String[] pair : PAIRS) {
+            blackhole.consume(legacyIsVersionNewer(pair[0], pair[1]));
+        }
+    }
+
+    private static boolean legacyIsVersionNewer(String latest, String current) {
+        try {
+            String[] latestParts = latest.replaceAll("[^0-9.]", "").trim().split("\\.");
+            String[] currentParts = current.replaceAll("[^0-9.]", "").trim().split("\\.");
+            int maxLength = Math.max(latestParts.length, currentParts.length);
+            for (int i = 0; i < maxLength; i++) {
+                int latestNum = i < latestParts.length ? Integer.parseInt(latestParts[i]) : 0;
+                int currentNum = i < currentParts.length ? Integer.parseInt(currentParts[i]) : 0;
+                if (latestNum > currentNum) return true;
+                if (latestNum < currentNum) return false;
+            }
+            return false;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
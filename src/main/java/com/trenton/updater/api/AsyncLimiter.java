@@ -0,0 +1,61 @@
+package com.trenton.updater.api;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+final class AsyncLimiter {
+    private final int maxConcurrent;
+    private final Queue<Runnable> pending = new ArrayDeque<>();
+    private int running;
+
+    AsyncLimiter(int maxConcurrent) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be at least 1");
+        }
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable start = () -> {
+            CompletableFuture<T> future;
+            try {
+                future = task.get();
+            } catch (Throwable t) {
+                future = CompletableFuture.failedFuture(t);
+            }
+            future.whenComplete((value, error) -> {
+                release();
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+        };
+        synchronized (this) {
+            if (running >= maxConcurrent) {
+                pending.add(start);
+                return result;
+            }
+            running++;
+        }
+        start.run();
+        return result;
+    }
+
+    private void release() {
+        Runnable next;
+        synchronized (this) {
+            next = pending.poll();
+            if (next == null) {
+                running--;
+            }
+        }
+        if (next != null) {
+            next.run();
+        }
+    }
+}
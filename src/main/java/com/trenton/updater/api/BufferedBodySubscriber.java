@@ -0,0 +1,108 @@
+package com.trenton.updater.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+final class BufferedBodySubscriber implements HttpResponse.BodySubscriber<InputStream> {
+    static final int MAX_BODY_BYTES = 1024 * 1024;
+    private static final int MEMORY_BUDGET_BYTES = 16 * 1024 * 1024;
+    private final CompletableFuture<InputStream> body = new CompletableFuture<>();
+    private final Buffer buffer = new Buffer();
+    private final AtomicBoolean released = new AtomicBoolean();
+    private final Semaphore memoryBudget = SharedState.get("response-memory-budget", ignored -> new Semaphore(MEMORY_BUDGET_BYTES));
+    private Flow.Subscription subscription;
+    private int reserved;
+
+    static HttpResponse.BodyHandler<InputStream> handler() {
+        return info -> new BufferedBodySubscriber();
+    }
+
+    @Override
+    public CompletionStage<InputStream> getBody() {
+        return body;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(1);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> items) {
+        int size = 0;
+        for (ByteBuffer item : items) {
+            size += item.remaining();
+        }
+        if (reserved + size > MAX_BODY_BYTES) {
+            abort(new IOException("Response body exceeds " + MAX_BODY_BYTES + " bytes"));
+            return;
+        }
+        if (!memoryBudget.tryAcquire(size)) {
+            abort(new IOException("Update response memory budget of " + MEMORY_BUDGET_BYTES + " bytes exhausted"));
+            return;
+        }
+        reserved += size;
+        for (ByteBuffer item : items) {
+            buffer.write(item);
+        }
+        subscription.request(1);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        release();
+        body.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        body.complete(buffer.toInputStream());
+    }
+
+    private void abort(IOException error) {
+        subscription.cancel();
+        onError(error);
+    }
+
+    private void release() {
+        if (released.compareAndSet(false, true)) {
+            memoryBudget.release(reserved);
+        }
+    }
+
+    private final class Buffer extends ByteArrayOutputStream {
+        private void write(ByteBuffer item) {
+            int length = item.remaining();
+            ensureCapacity(count + length);
+            item.get(buf, count, length);
+            count += length;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(capacity, buf.length * 2));
+            }
+        }
+
+        private InputStream toInputStream() {
+            return new ByteArrayInputStream(buf, 0, count) {
+                @Override
+                public void close() {
+                    release();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.trenton.updater.api;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.File;
+
+final class BukkitEventBridge implements UpdateListener {
+    private final JavaPlugin plugin;
+
+    BukkitEventBridge(JavaPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void checkStarted(UpdaterService updater) {
+        call(new UpdateLifecycleEvent(updater, UpdateLifecycleEvent.Stage.CHECK_STARTED, null, null, null));
+    }
+
+    @Override
+    public void updateFound(UpdaterService updater, UpdateResult result) {
+        call(new UpdateLifecycleEvent(updater, UpdateLifecycleEvent.Stage.UPDATE_FOUND, result.latestVersion(), null, null));
+    }
+
+    @Override
+    public void downloadCompleted(UpdaterService updater, String version, File file) {
+        call(new UpdateLifecycleEvent(updater, UpdateLifecycleEvent.Stage.DOWNLOAD_COMPLETED, version, file, null));
+    }
+
+    @Override
+    public void applySucceeded(UpdaterService updater, String version, File file) {
+        call(new UpdateLifecycleEvent(updater, UpdateLifecycleEvent.Stage.APPLY_SUCCEEDED, version, file, null));
+    }
+
+    @Override
+    public void applyFailed(UpdaterService updater, String version, Throwable cause) {
+        call(new UpdateLifecycleEvent(updater, UpdateLifecycleEvent.Stage.APPLY_FAILED, version, null, cause));
+    }
+
+    private void call(UpdateLifecycleEvent event) {
+        if (Bukkit.isPrimaryThread()) {
+            Bukkit.getPluginManager().callEvent(event);
+        } else if (plugin.isEnabled()) {
+            Bukkit.getScheduler().runTask(plugin, () -> Bukkit.getPluginManager().callEvent(event));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.trenton.updater.api;
+
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+final class ChecksumManifest {
+    private ChecksumManifest() {
+    }
+
+    static CompletableFuture<String> fetchSha256(URI manifest, String pluginName, String version, String userAgent, RetryPolicy retryPolicy) {
+        return UpdaterHttp.sendAsync(UpdaterHttp.request(manifest, userAgent).GET().build(), HttpResponse.BodyHandlers.ofString(), retryPolicy)
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new CompletionException(new HttpStatusException(response.statusCode()));
+                    }
+                    return findSha256(response.body(), pluginName, version);
+                });
+    }
+
+    static String findSha256(String manifest, String pluginName, String version) {
+        String jarName = pluginName + "-" + version + ".jar";
+        for (String line : manifest.split("\\R")) {
+            line = line.trim();
+            int separator = line.indexOf(' ');
+            if (line.isEmpty() || line.startsWith("#") || separator != 64) {
+                continue;
+            }
+            String file = line.substring(separator).trim();
+            if (file.startsWith("*")) {
+                file = file.substring(1);
+            }
+            file = file.substring(file.lastIndexOf('/') + 1);
+            if (file.equals(version) || file.equals(jarName)) {
+                return line.substring(0, separator).toLowerCase();
+            }
+        }
+        return null;
+    }
+}
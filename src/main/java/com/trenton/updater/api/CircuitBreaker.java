@@ -0,0 +1,71 @@
+package com.trenton.updater.api;
+
+import java.net.URI;
+import java.time.Duration;
+
+final class CircuitBreaker {
+    private static final int FAILURE_THRESHOLD = 5;
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+    private static final int CLOSED = 0;
+    private static final int OPEN = 1;
+    private static final int HALF_OPEN = 2;
+    private static final int STATE = 0;
+    private static final int FAILURES = 1;
+    private static final int OPENED_AT = 2;
+    private static final int TRIAL_IN_FLIGHT = 3;
+    private final String host;
+    private final long[] shared;
+
+    private CircuitBreaker(String host, long[] shared) {
+        this.host = host;
+        this.shared = shared;
+    }
+
+    static CircuitBreaker forHost(URI uri) {
+        String host = uri.getHost() == null ? String.valueOf(uri.getAuthority()) : uri.getHost().toLowerCase();
+        return new CircuitBreaker(host, SharedState.get("circuit-breaker:" + host, ignored -> new long[4]));
+    }
+
+    String host() {
+        return host;
+    }
+
+    boolean tryAcquire() {
+        synchronized (shared) {
+            if (shared[STATE] == CLOSED) {
+                return true;
+            }
+            if (shared[STATE] == OPEN) {
+                if (System.nanoTime() - shared[OPENED_AT] < OPEN_DURATION.toNanos()) {
+                    return false;
+                }
+                shared[STATE] = HALF_OPEN;
+                shared[TRIAL_IN_FLIGHT] = 0;
+            }
+            if (shared[TRIAL_IN_FLIGHT] != 0) {
+                return false;
+            }
+            shared[TRIAL_IN_FLIGHT] = 1;
+            return true;
+        }
+    }
+
+    void onSuccess() {
+        synchronized (shared) {
+            shared[STATE] = CLOSED;
+            shared[FAILURES] = 0;
+            shared[TRIAL_IN_FLIGHT] = 0;
+        }
+    }
+
+    void onFailure() {
+        synchronized (shared) {
+            shared[TRIAL_IN_FLIGHT] = 0;
+            shared[FAILURES]++;
+            if (shared[STATE] == HALF_OPEN || shared[FAILURES] >= FAILURE_THRESHOLD) {
+                shared[STATE] = OPEN;
+                shared[OPENED_AT] = System.nanoTime();
+            }
+        }
+    }
+}
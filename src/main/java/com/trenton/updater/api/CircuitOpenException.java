@@ -0,0 +1,16 @@
+package com.trenton.updater.api;
+
+import java.io.IOException;
+
+public class CircuitOpenException extends IOException {
+    private final String host;
+
+    public CircuitOpenException(String host) {
+        super("Circuit open for " + host + " after repeated failures");
+        this.host = host;
+    }
+
+    public String getHost() {
+        return host;
+    }
+}
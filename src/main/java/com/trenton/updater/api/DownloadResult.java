@@ -0,0 +1,14 @@
+package com.trenton.updater.api;
+
+import java.time.Duration;
+
+record DownloadResult(String sha256, long bytes, Duration elapsed, boolean cached) {
+    static DownloadResult cached(String sha256) {
+        return new DownloadResult(sha256, 0, Duration.ZERO, true);
+    }
+
+    double megabytesPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : bytes / 1048576.0 / (nanos / 1e9);
+    }
+}
@@ -0,0 +1,31 @@
+package com.trenton.updater.api;
+
+import org.bukkit.Bukkit;
+
+import java.time.LocalTime;
+
+@FunctionalInterface
+public interface DownloadWindow {
+    boolean isOpen();
+
+    static DownloadWindow always() {
+        return () -> true;
+    }
+
+    static DownloadWindow between(LocalTime start, LocalTime end) {
+        return () -> {
+            LocalTime now = LocalTime.now();
+            return start.isBefore(end)
+                    ? !now.isBefore(start) && now.isBefore(end)
+                    : !now.isBefore(start) || now.isBefore(end);
+        };
+    }
+
+    static DownloadWindow whenPlayersAtMost(int maxPlayers) {
+        return () -> Bukkit.getOnlinePlayers().size() <= maxPlayers;
+    }
+
+    default DownloadWindow and(DownloadWindow other) {
+        return () -> isOpen() && other.isOpen();
+    }
+}
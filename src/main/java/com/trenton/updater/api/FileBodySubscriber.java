@@ -0,0 +1,133 @@
+package com.trenton.updater.api;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledFuture;
+
+final class FileBodySubscriber implements HttpResponse.BodySubscriber<Long> {
+    private final CompletableFuture<Long> result = new CompletableFuture<>();
+    private final Path part;
+    private final long expectedSize;
+    private final MessageDigest digest;
+    private final TokenBucket throttle;
+    private final UpdateDownloader.Progress progress;
+    private volatile long lastProgress = System.nanoTime();
+    private Flow.Subscription subscription;
+    private ScheduledFuture<?> watchdog;
+    private FileChannel channel;
+    private long position;
+
+    FileBodySubscriber(Path part, long offset, long expectedSize, MessageDigest digest, TokenBucket throttle,
+                       UpdateDownloader.Progress progress) {
+        this.part = part;
+        this.position = offset;
+        this.expectedSize = expectedSize;
+        this.digest = digest;
+        this.throttle = throttle;
+        this.progress = progress;
+    }
+
+    @Override
+    public CompletionStage<Long> getBody() {
+        return result;
+    }
+
+    @Override
+    public synchronized void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        try {
+            channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            channel.truncate(position);
+        } catch (IOException e) {
+            abort(e);
+            return;
+        }
+        watchdog = UpdateScheduler.scheduleAtFixedRate(() -> {
+            if (System.nanoTime() - lastProgress > UpdaterHttp.TIMEOUT.toNanos()) {
+                abort(new IOException("Download stalled for " + UpdaterHttp.TIMEOUT.toSeconds() + "s"));
+            }
+        }, UpdateDownloader.WATCHDOG_PERIOD);
+        subscription.request(1);
+    }
+
+    @Override
+    public synchronized void onNext(List<ByteBuffer> items) {
+        if (result.isDone()) {
+            return;
+        }
+        long received = 0;
+        try {
+            for (ByteBuffer item : items) {
+                received += item.remaining();
+                digest.update(item.duplicate());
+                while (item.hasRemaining()) {
+                    position += channel.write(item, position);
+                }
+            }
+        } catch (IOException e) {
+            abort(e);
+            return;
+        }
+        lastProgress = System.nanoTime();
+        if (progress != null) {
+            progress.update(position, expectedSize);
+        }
+        long waitNanos = throttle != null ? throttle.reserve(received) : 0;
+        if (waitNanos > 0) {
+            UpdateScheduler.schedule(() -> subscription.request(1), Duration.ofNanos(waitNanos));
+        } else {
+            subscription.request(1);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        finish(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        finish(null);
+    }
+
+    private synchronized void abort(IOException error) {
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        finish(error);
+    }
+
+    private synchronized void finish(Throwable error) {
+        if (result.isDone()) {
+            return;
+        }
+        if (watchdog != null) {
+            watchdog.cancel(false);
+        }
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                error = error != null ? error : e;
+            }
+        }
+        if (error == null && expectedSize >= 0 && position != expectedSize) {
+            error = new IOException("Incomplete download: received " + position + " of " + expectedSize + " bytes");
+        }
+        if (error != null) {
+            result.completeExceptionally(error);
+        } else {
+            result.complete(position);
+        }
+    }
+}
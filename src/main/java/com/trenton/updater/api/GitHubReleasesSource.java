@@ -0,0 +1,96 @@
+package com.trenton.updater.api;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+
+public class GitHubReleasesSource extends HttpJsonSource {
+    private static final URI DEFAULT_API = URI.create("https://api.github.com/");
+    private final URI api;
+    private final String owner;
+    private final String repository;
+
+    public GitHubReleasesSource(String owner, String repository) {
+        this(DEFAULT_API, owner, repository);
+    }
+
+    public GitHubReleasesSource(URI api, String owner, String repository) {
+        this.api = api;
+        this.owner = owner;
+        this.repository = repository;
+    }
+
+    @Override
+    public String id() {
+        return "github:" + api.getHost() + ":" + owner + "/" + repository;
+    }
+
+    @Override
+    protected URI latestUri() {
+        return api.resolve("repos/" + owner + "/" + repository + "/releases/latest");
+    }
+
+    @Override
+    protected HttpRequest.Builder customize(HttpRequest.Builder builder) {
+        return builder.header("Accept", "application/vnd.github+json");
+    }
+
+    @Override
+    protected Release readRelease(JsonReader reader) throws IOException {
+        String version = null;
+        String downloadUrl = null;
+        String sha256 = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("tag_name") && reader.peek() == JsonToken.STRING) {
+                version = reader.nextString().trim();
+            } else if (name.equals("assets") && reader.peek() == JsonToken.BEGIN_ARRAY && downloadUrl == null) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    String[] asset = readAsset(reader);
+                    if (downloadUrl == null && asset[0] != null && asset[0].endsWith(".jar")) {
+                        downloadUrl = asset[1];
+                        sha256 = asset[2];
+                    }
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if (version == null) {
+            throw new IOException("GitHub release response missing 'tag_name' field");
+        }
+        if (downloadUrl == null) {
+            throw new IOException("GitHub release " + version + " has no .jar asset");
+        }
+        return new Release(version, URI.create(downloadUrl), sha256);
+    }
+
+    private static String[] readAsset(JsonReader reader) throws IOException {
+        String[] asset = new String[3];
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() != JsonToken.STRING) {
+                reader.skipValue();
+            } else if (name.equals("name")) {
+                asset[0] = reader.nextString();
+            } else if (name.equals("browser_download_url")) {
+                asset[1] = reader.nextString();
+            } else if (name.equals("digest")) {
+                String digest = reader.nextString();
+                asset[2] = digest.startsWith("sha256:") ? digest.substring(7) : null;
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return asset;
+    }
+}
@@ -0,0 +1,116 @@
+package com.trenton.updater.api;
+
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class HostRateLimiter {
+    private static final long DEFAULT_REQUESTS_PER_SECOND = 10;
+    private static final Duration MAX_PAUSE = Duration.ofHours(1);
+    private static final long EPOCH_SECONDS_THRESHOLD = 1_000_000_000L;
+    private static final int PAUSED_UNTIL = 0;
+    private static final int RATE = 1;
+    private static final int TOKENS = 2;
+    private static final int LAST_REFILL = 3;
+    private final long[] shared;
+
+    private HostRateLimiter(long[] shared) {
+        this.shared = shared;
+    }
+
+    static HostRateLimiter forHost(URI uri) {
+        String host = uri.getHost() == null ? String.valueOf(uri.getAuthority()) : uri.getHost().toLowerCase();
+        return new HostRateLimiter(SharedState.get("rate-limiter:" + host, ignored -> {
+            long[] state = new long[4];
+            state[PAUSED_UNTIL] = System.nanoTime();
+            return state;
+        }));
+    }
+
+    static void setRequestsPerSecond(long rate) {
+        requestsPerSecond().set(rate > 0 ? rate : DEFAULT_REQUESTS_PER_SECOND);
+    }
+
+    private static AtomicLong requestsPerSecond() {
+        return SharedState.get("request-rate", ignored -> new AtomicLong(DEFAULT_REQUESTS_PER_SECOND));
+    }
+
+    CompletableFuture<Void> acquire() {
+        long waitNanos = reserve();
+        if (waitNanos <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> ready = new CompletableFuture<>();
+        UpdateScheduler.schedule(() -> ready.complete(null), Duration.ofMillis(TimeUnit.NANOSECONDS.toMillis(waitNanos) + 1));
+        return ready;
+    }
+
+    private long reserve() {
+        long rate = requestsPerSecond().get();
+        synchronized (shared) {
+            long now = System.nanoTime();
+            double tokens = shared[RATE] == rate
+                    ? Math.min(rate, Double.longBitsToDouble(shared[TOKENS]) + (now - shared[LAST_REFILL]) / 1e9 * rate)
+                    : rate;
+            tokens -= 1;
+            shared[RATE] = rate;
+            shared[TOKENS] = Double.doubleToRawLongBits(tokens);
+            shared[LAST_REFILL] = now;
+            long waitNanos = tokens >= 0 ? 0 : (long) (-tokens * 1e9 / rate);
+            return Math.max(waitNanos, shared[PAUSED_UNTIL] - now);
+        }
+    }
+
+    void onResponse(HttpResponse<?> response) {
+        HttpHeaders headers = response.headers();
+        Duration pause = null;
+        if (response.statusCode() == 429 || response.statusCode() == 503) {
+            pause = headers.firstValue("Retry-After").map(HostRateLimiter::parseRetryAfter).orElse(null);
+        }
+        if (pause == null && headers.firstValueAsLong("X-RateLimit-Remaining").orElse(1) <= 0) {
+            pause = headers.firstValue("X-RateLimit-Reset").map(HostRateLimiter::parseReset).orElse(null);
+        }
+        if (pause != null && !pause.isNegative() && !pause.isZero()) {
+            pauseFor(pause.compareTo(MAX_PAUSE) > 0 ? MAX_PAUSE : pause);
+        }
+    }
+
+    private void pauseFor(Duration pause) {
+        synchronized (shared) {
+            long until = System.nanoTime() + pause.toNanos();
+            if (until - shared[PAUSED_UNTIL] > 0) {
+                shared[PAUSED_UNTIL] = until;
+            }
+        }
+    }
+
+    static Duration parseRetryAfter(String value) {
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            try {
+                return Duration.between(ZonedDateTime.now(), ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    static Duration parseReset(String value) {
+        try {
+            long reset = Long.parseLong(value.trim());
+            return reset > EPOCH_SECONDS_THRESHOLD
+                    ? Duration.ofSeconds(reset - System.currentTimeMillis() / 1000)
+                    : Duration.ofSeconds(reset);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.trenton.updater.api;
+
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public abstract class HttpJsonSource implements UpdateSource {
+    protected abstract URI latestUri();
+
+    protected abstract Release readRelease(JsonReader reader) throws IOException;
+
+    protected HttpRequest.Builder customize(HttpRequest.Builder builder) {
+        return builder;
+    }
+
+    @Override
+    public CompletableFuture<Release> fetchLatest(SourceContext context) {
+        Release cached = context.cachedRelease();
+        HttpRequest request = customize(context.request(latestUri())).GET().build();
+        return UpdaterHttp.sendAsync(request, UpdaterHttp.jsonBody(), context.retryPolicy())
+                .thenApplyAsync(response -> {
+                    context.recordStatus(response.statusCode());
+                    try (InputStream body = response.body()) {
+                        if (response.statusCode() == 304 && cached != null) {
+                            context.remember(cached, response.headers());
+                            return cached;
+                        }
+                        if (response.statusCode() != 200) {
+                            throw new HttpStatusException(response.statusCode());
+                        }
+                        Release release = readRelease(new JsonReader(new InputStreamReader(body, StandardCharsets.UTF_8)));
+                        context.remember(release, response.headers());
+                        return release;
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                }, context.executor());
+    }
+}
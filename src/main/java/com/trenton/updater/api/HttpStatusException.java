@@ -0,0 +1,16 @@
+package com.trenton.updater.api;
+
+import java.io.IOException;
+
+public class HttpStatusException extends IOException {
+    private final int statusCode;
+
+    public HttpStatusException(int statusCode) {
+        super("HTTP " + statusCode);
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
@@ -0,0 +1,129 @@
+package com.trenton.updater.api;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class InMemoryUpdaterMetrics implements UpdaterMetrics {
+    private static final long[] LATENCY_BUCKETS_MILLIS = {10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    private final LongAdder[] latencyBuckets = new LongAdder[LATENCY_BUCKETS_MILLIS.length + 1];
+    private final LongAdder latencyTotalMillis = new LongAdder();
+    private final ConcurrentMap<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> failures = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> cacheHits = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> cacheMisses = new ConcurrentHashMap<>();
+    private final LongAdder downloads = new LongAdder();
+    private final LongAdder bytesDownloaded = new LongAdder();
+    private final LongAdder downloadNanos = new LongAdder();
+
+    public InMemoryUpdaterMetrics() {
+        for (int i = 0; i < latencyBuckets.length; i++) {
+            latencyBuckets[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void checkCompleted(String sourceId, Duration latency) {
+        recordLatency(latency);
+    }
+
+    @Override
+    public void checkFailed(String sourceId, Duration latency, Throwable cause) {
+        recordLatency(latency);
+        increment(failures, "check:" + cause.getClass().getSimpleName());
+    }
+
+    @Override
+    public void httpStatus(String sourceId, int statusCode) {
+        increment(statusCodes, statusCode);
+    }
+
+    @Override
+    public void cacheLookup(String cache, boolean hit) {
+        increment(hit ? cacheHits : cacheMisses, cache);
+    }
+
+    @Override
+    public void downloadCompleted(String sourceId, long bytes, Duration elapsed) {
+        downloads.increment();
+        bytesDownloaded.add(bytes);
+        downloadNanos.add(elapsed.toNanos());
+    }
+
+    @Override
+    public void downloadFailed(String sourceId, Throwable cause) {
+        increment(failures, "download:" + cause.getClass().getSimpleName());
+    }
+
+    public Map<String, Long> getLatencyHistogram() {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        long cumulative = 0;
+        for (int i = 0; i < LATENCY_BUCKETS_MILLIS.length; i++) {
+            cumulative += latencyBuckets[i].sum();
+            histogram.put("le_" + LATENCY_BUCKETS_MILLIS[i] + "ms", cumulative);
+        }
+        histogram.put("le_inf", cumulative + latencyBuckets[LATENCY_BUCKETS_MILLIS.length].sum());
+        return histogram;
+    }
+
+    public long getLatencyTotalMillis() {
+        return latencyTotalMillis.sum();
+    }
+
+    public Map<Integer, Long> getStatusCodes() {
+        return snapshot(statusCodes);
+    }
+
+    public Map<String, Long> getFailures() {
+        return snapshot(failures);
+    }
+
+    public double getCacheHitRate(String cache) {
+        long hits = sum(cacheHits, cache);
+        long total = hits + sum(cacheMisses, cache);
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public long getDownloads() {
+        return downloads.sum();
+    }
+
+    public long getBytesDownloaded() {
+        return bytesDownloaded.sum();
+    }
+
+    public double getDownloadBytesPerSecond() {
+        long nanos = downloadNanos.sum();
+        return nanos == 0 ? 0 : bytesDownloaded.sum() / (nanos / 1e9);
+    }
+
+    private void recordLatency(Duration latency) {
+        long millis = latency.toMillis();
+        latencyTotalMillis.add(millis);
+        int bucket = 0;
+        while (bucket < LATENCY_BUCKETS_MILLIS.length && millis > LATENCY_BUCKETS_MILLIS[bucket]) {
+            bucket++;
+        }
+        latencyBuckets[bucket].increment();
+    }
+
+    private static <K> void increment(ConcurrentMap<K, LongAdder> counters, K key) {
+        counters.computeIfAbsent(key, ignored -> new LongAdder()).increment();
+    }
+
+    private static long sum(ConcurrentMap<String, LongAdder> counters, String key) {
+        LongAdder adder = counters.get(key);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    private static <K extends Comparable<K>> Map<K, Long> snapshot(ConcurrentMap<K, LongAdder> counters) {
+        Map<K, Long> snapshot = new TreeMap<>();
+        counters.forEach((key, adder) -> snapshot.put(key, adder.sum()));
+        return snapshot;
+    }
+}
@@ -0,0 +1,13 @@
+package com.trenton.updater.api;
+
+import java.io.IOException;
+
+public class IntegrityException extends IOException {
+    public IntegrityException(String message) {
+        super(message);
+    }
+
+    public IntegrityException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
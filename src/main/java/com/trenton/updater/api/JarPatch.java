@@ -0,0 +1,267 @@
+package com.trenton.updater.api;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+public final class JarPatch {
+    private static final int MAGIC = 0x55504450;
+    private static final int FORMAT_VERSION = 1;
+    private static final int END = 0;
+    private static final int COPY = 1;
+    private static final int DATA = 2;
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+    private static final int CENTRAL_DIRECTORY_ENTRY = 0x02014b50;
+    private static final int LOCAL_FILE_HEADER = 0x04034b50;
+    private static final double MAX_PATCH_RATIO = 0.5;
+
+    private JarPatch() {
+    }
+
+    public static long create(Path base, Path target, Path patch) throws IOException {
+        long copied;
+        try (FileChannel baseChannel = FileChannel.open(base);
+             FileChannel targetChannel = FileChannel.open(target);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(patch)))) {
+            copied = writePatch(map(baseChannel), map(targetChannel), out);
+        }
+        long patchSize = Files.size(patch);
+        long targetSize = Files.size(target);
+        if (patchSize > targetSize * MAX_PATCH_RATIO) {
+            Files.deleteIfExists(patch);
+            throw new IOException("Patch from " + base.getFileName() + " to " + target.getFileName() + " would be "
+                    + patchSize + " bytes for a " + targetSize + " byte JAR; ship the full JAR instead");
+        }
+        return copied;
+    }
+
+    private static long writePatch(ByteBuffer baseZip, ByteBuffer targetZip, DataOutputStream out) throws IOException {
+        Map<String, Entry> baseEntries = new HashMap<>();
+        for (Entry entry : entries(baseZip)) {
+            baseEntries.putIfAbsent(entry.name(), entry);
+        }
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.write(sha256(baseZip));
+        out.write(sha256(targetZip));
+        out.writeLong(targetZip.limit());
+        long copied = 0;
+        int position = 0;
+        long copyStart = -1;
+        long copyLength = 0;
+        for (Entry entry : entries(targetZip)) {
+            Entry match = baseEntries.get(entry.name());
+            if (match == null || entry.dataStart() < position || entry.compressedSize() == 0
+                    || match.crc() != entry.crc() || match.compressedSize() != entry.compressedSize()
+                    || !slice(baseZip, match.dataStart(), match.compressedSize())
+                    .equals(slice(targetZip, entry.dataStart(), entry.compressedSize()))) {
+                continue;
+            }
+            if (entry.dataStart() > position) {
+                writeCopy(out, copyStart, copyLength);
+                copyStart = -1;
+                copyLength = 0;
+                writeData(out, slice(targetZip, position, entry.dataStart() - position));
+            }
+            if (copyStart >= 0 && copyStart + copyLength == match.dataStart()) {
+                copyLength += match.compressedSize();
+            } else {
+                writeCopy(out, copyStart, copyLength);
+                copyStart = match.dataStart();
+                copyLength = match.compressedSize();
+            }
+            copied += match.compressedSize();
+            position = entry.dataStart() + entry.compressedSize();
+        }
+        writeCopy(out, copyStart, copyLength);
+        if (targetZip.limit() > position) {
+            writeData(out, slice(targetZip, position, targetZip.limit() - position));
+        }
+        out.writeByte(END);
+        return copied;
+    }
+
+    static String apply(Path base, Path patch, Path output) throws IOException {
+        try (FileChannel baseChannel = FileChannel.open(base);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(patch)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IntegrityException(patch.getFileName() + " is not a supported patch");
+            }
+            byte[] baseSha256 = in.readNBytes(32);
+            byte[] targetSha256 = in.readNBytes(32);
+            long targetLength = in.readLong();
+            MessageDigest baseDigest = UpdateDownloader.sha256();
+            transfer(baseChannel, 0, baseChannel.size(), baseDigest::update);
+            if (!Arrays.equals(baseSha256, baseDigest.digest())) {
+                throw new IntegrityException(patch.getFileName() + " does not apply to " + base.getFileName());
+            }
+            MessageDigest digest = UpdateDownloader.sha256();
+            long written = 0;
+            try (OutputStream out = new DigestOutputStream(new BufferedOutputStream(Files.newOutputStream(output,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)), digest)) {
+                int op;
+                while ((op = in.readUnsignedByte()) != END) {
+                    if (op == COPY) {
+                        long offset = in.readLong();
+                        long length = in.readLong();
+                        if (offset < 0 || length < 0 || offset + length > baseChannel.size()) {
+                            throw new IntegrityException(patch.getFileName() + " copies outside " + base.getFileName());
+                        }
+                        transfer(baseChannel, offset, length, out::write);
+                        written += length;
+                    } else if (op == DATA) {
+                        int length = in.readInt();
+                        written += copy(in, out, length);
+                    } else {
+                        throw new IntegrityException(patch.getFileName() + " contains unknown operation " + op);
+                    }
+                }
+            }
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            if (written != targetLength || !sha256.equals(HexFormat.of().formatHex(targetSha256))) {
+                throw new IntegrityException("Patched JAR does not match the patch's target checksum");
+            }
+            return sha256;
+        }
+    }
+
+    private static List<Entry> entries(ByteBuffer zip) throws IOException {
+        int eocd = -1;
+        for (int i = zip.limit() - 22; i >= Math.max(0, zip.limit() - 22 - 0xffff); i--) {
+            if (zip.getInt(i) == END_OF_CENTRAL_DIRECTORY) {
+                eocd = i;
+                break;
+            }
+        }
+        if (eocd < 0) {
+            throw new IOException("Not a ZIP archive");
+        }
+        int count = zip.getShort(eocd + 10) & 0xffff;
+        long directory = zip.getInt(eocd + 16) & 0xffffffffL;
+        if (count == 0xffff || directory == 0xffffffffL) {
+            throw new IOException("ZIP64 archives are not supported");
+        }
+        List<Entry> entries = new ArrayList<>(count);
+        int position = (int) directory;
+        for (int i = 0; i < count; i++) {
+            if (zip.getInt(position) != CENTRAL_DIRECTORY_ENTRY) {
+                throw new IOException("Corrupt ZIP central directory");
+            }
+            int crc = zip.getInt(position + 16);
+            long compressedSize = zip.getInt(position + 20) & 0xffffffffL;
+            int nameLength = zip.getShort(position + 28) & 0xffff;
+            int extraLength = zip.getShort(position + 30) & 0xffff;
+            int commentLength = zip.getShort(position + 32) & 0xffff;
+            long start = zip.getInt(position + 42) & 0xffffffffL;
+            byte[] name = new byte[nameLength];
+            zip.get(position + 46, name);
+            if (start + 30 > directory || zip.getInt((int) start) != LOCAL_FILE_HEADER) {
+                throw new IOException("Corrupt ZIP local header");
+            }
+            long dataStart = start + 30 + (zip.getShort((int) start + 26) & 0xffff) + (zip.getShort((int) start + 28) & 0xffff);
+            if (dataStart + compressedSize > directory) {
+                throw new IOException("Corrupt ZIP entry size");
+            }
+            entries.add(new Entry(new String(name, StandardCharsets.UTF_8), crc, (int) dataStart, (int) compressedSize));
+            position += 46 + nameLength + extraLength + commentLength;
+        }
+        entries.sort(Comparator.comparingInt(Entry::dataStart));
+        return entries;
+    }
+
+    private static void writeCopy(DataOutputStream out, long offset, long length) throws IOException {
+        if (length > 0) {
+            out.writeByte(COPY);
+            out.writeLong(offset);
+            out.writeLong(length);
+        }
+    }
+
+    private static void writeData(DataOutputStream out, ByteBuffer data) throws IOException {
+        out.writeByte(DATA);
+        out.writeInt(data.remaining());
+        write(out, data);
+    }
+
+    private static void write(OutputStream out, ByteBuffer data) throws IOException {
+        byte[] chunk = new byte[Math.min(data.remaining(), 64 * 1024)];
+        while (data.hasRemaining()) {
+            int length = Math.min(chunk.length, data.remaining());
+            data.get(chunk, 0, length);
+            out.write(chunk, 0, length);
+        }
+    }
+
+    private static void transfer(FileChannel channel, long offset, long length, Chunk sink) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(Math.max(length, 1), UpdateDownloader.BUFFER_SIZE));
+        long position = offset;
+        long end = offset + length;
+        while (position < end) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), end - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of base JAR");
+            }
+            sink.accept(buffer.array(), 0, read);
+            position += read;
+        }
+    }
+
+    private static long copy(InputStream in, OutputStream out, int length) throws IOException {
+        byte[] chunk = new byte[Math.min(length, 64 * 1024)];
+        int remaining = length;
+        while (remaining > 0) {
+            int read = in.read(chunk, 0, Math.min(chunk.length, remaining));
+            if (read < 0) {
+                throw new IntegrityException("Patch is truncated");
+            }
+            out.write(chunk, 0, read);
+            remaining -= read;
+        }
+        return length;
+    }
+
+    private static ByteBuffer map(FileChannel channel) throws IOException {
+        if (channel.size() > Integer.MAX_VALUE) {
+            throw new IOException("JAR is too large to patch");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, long offset, long length) {
+        return buffer.slice((int) offset, (int) length);
+    }
+
+    private static byte[] sha256(ByteBuffer data) {
+        MessageDigest digest = UpdateDownloader.sha256();
+        digest.update(data.duplicate());
+        return digest.digest();
+    }
+
+    private interface Chunk {
+        void accept(byte[] bytes, int offset, int length) throws IOException;
+    }
+
+    private record Entry(String name, int crc, int dataStart, int compressedSize) {
+    }
+}
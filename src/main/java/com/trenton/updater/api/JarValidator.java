@@ -0,0 +1,38 @@
+package com.trenton.updater.api;
+
+import org.bukkit.plugin.InvalidDescriptionException;
+import org.bukkit.plugin.PluginDescriptionFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+final class JarValidator {
+    private JarValidator() {
+    }
+
+    static void validatePlugin(Path jar, String pluginName) throws IntegrityException {
+        try (ZipFile zip = new ZipFile(jar.toFile())) {
+            ZipEntry entry = zip.getEntry("plugin.yml");
+            if (entry == null) {
+                throw new IntegrityException(jar.getFileName() + " does not contain a plugin.yml");
+            }
+            PluginDescriptionFile description;
+            try (InputStream in = zip.getInputStream(entry)) {
+                description = new PluginDescriptionFile(in);
+            }
+            if (!pluginName.equals(description.getName())) {
+                throw new IntegrityException(jar.getFileName() + " contains plugin '" + description.getName() + "', expected '" + pluginName + "'");
+            }
+        } catch (InvalidDescriptionException e) {
+            throw new IntegrityException(jar.getFileName() + " has an invalid plugin.yml", e);
+        } catch (IOException e) {
+            if (e instanceof IntegrityException integrityException) {
+                throw integrityException;
+            }
+            throw new IntegrityException(jar.getFileName() + " is not a readable JAR: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.trenton.updater.api;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public class LocalDirectorySource implements UpdateSource {
+    private final Path directory;
+    private final String pluginName;
+
+    public LocalDirectorySource(Path directory, String pluginName) {
+        this.directory = directory;
+        this.pluginName = pluginName;
+    }
+
+    @Override
+    public String id() {
+        return "local:" + directory.toAbsolutePath().normalize() + ":" + pluginName;
+    }
+
+    @Override
+    public CompletableFuture<Release> fetchLatest(SourceContext context) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return findLatest();
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, context.executor());
+    }
+
+    @Override
+    public CompletableFuture<Patch> fetchPatch(SourceContext context, String fromVersion, Release target) {
+        return CompletableFuture.supplyAsync(() -> {
+            Path patch = directory.resolve(pluginName + "-" + fromVersion + "-to-" + target.version() + ".patch");
+            try {
+                return Files.isRegularFile(patch) ? new Patch(fromVersion, patch.toUri(), readSha256(patch)) : null;
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, context.executor());
+    }
+
+    private Release findLatest() throws IOException {
+        String prefix = pluginName + "-";
+        Path latestJar = null;
+        Version latestVersion = null;
+        try (DirectoryStream<Path> jars = Files.newDirectoryStream(directory, prefix + "*.jar")) {
+            for (Path jar : jars) {
+                String name = jar.getFileName().toString();
+                String versionText = name.substring(prefix.length(), name.length() - ".jar".length());
+                Version version;
+                try {
+                    version = Version.parse(versionText);
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                if (latestVersion == null || version.isNewerThan(latestVersion)) {
+                    latestVersion = version;
+                    latestJar = jar;
+                }
+            }
+        }
+        if (latestJar == null) {
+            throw new IOException("No " + prefix + "<version>.jar found in " + directory);
+        }
+        return new Release(latestVersion.toString(), latestJar.toUri(), readSha256(latestJar));
+    }
+
+    private static String readSha256(Path file) throws IOException {
+        Path checksum = file.resolveSibling(file.getFileName() + ".sha256");
+        if (!Files.isRegularFile(checksum)) {
+            return null;
+        }
+        String content = Files.readString(checksum, StandardCharsets.UTF_8).trim();
+        int end = content.indexOf(' ');
+        return end < 0 ? content : content.substring(0, end);
+    }
+}
@@ -0,0 +1,126 @@
+package com.trenton.updater.api;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public class ManifestSource extends HttpJsonSource {
+    private final URI manifest;
+
+    public ManifestSource(URI manifest) {
+        this.manifest = manifest;
+    }
+
+    @Override
+    public String id() {
+        return "manifest:" + manifest;
+    }
+
+    @Override
+    protected URI latestUri() {
+        return manifest;
+    }
+
+    @Override
+    public CompletableFuture<Patch> fetchPatch(SourceContext context, String fromVersion, Release target) {
+        return UpdaterHttp.sendAsync(UpdaterHttp.request(manifest, context.userAgent()).GET().build(), UpdaterHttp.jsonBody(), context.retryPolicy())
+                .thenApplyAsync(response -> {
+                    try (InputStream body = response.body()) {
+                        if (response.statusCode() != 200) {
+                            throw new HttpStatusException(response.statusCode());
+                        }
+                        return readPatch(new JsonReader(new InputStreamReader(body, StandardCharsets.UTF_8)), fromVersion, target);
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                }, context.executor());
+    }
+
+    private Patch readPatch(JsonReader reader, String fromVersion, Release target) throws IOException {
+        String version = null;
+        Patch patch = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("version") && reader.peek() == JsonToken.STRING) {
+                version = reader.nextString().trim();
+            } else if (name.equals("patches") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if (reader.nextName().equals(fromVersion)) {
+                        patch = readPatchEntry(reader, fromVersion);
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return target.version().equals(version) ? patch : null;
+    }
+
+    private Patch readPatchEntry(JsonReader reader, String fromVersion) throws IOException {
+        if (reader.peek() == JsonToken.STRING) {
+            return new Patch(fromVersion, manifest.resolve(reader.nextString().trim()), null);
+        }
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+        String url = null;
+        String sha256 = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() != JsonToken.STRING) {
+                reader.skipValue();
+            } else if (name.equals("url")) {
+                url = reader.nextString().trim();
+            } else if (name.equals("sha256")) {
+                sha256 = reader.nextString().trim();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return url == null ? null : new Patch(fromVersion, manifest.resolve(url), sha256);
+    }
+
+    @Override
+    protected Release readRelease(JsonReader reader) throws IOException {
+        String version = null;
+        String url = null;
+        String sha256 = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() != JsonToken.STRING) {
+                reader.skipValue();
+            } else if (name.equals("version")) {
+                version = reader.nextString().trim();
+            } else if (name.equals("url")) {
+                url = reader.nextString().trim();
+            } else if (name.equals("sha256")) {
+                sha256 = reader.nextString().trim();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if (version == null || url == null) {
+            throw new IOException("Update manifest " + manifest + " must contain 'version' and 'url'");
+        }
+        return new Release(version, manifest.resolve(url), sha256);
+    }
+}
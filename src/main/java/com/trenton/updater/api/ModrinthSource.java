@@ -0,0 +1,124 @@
+package com.trenton.updater.api;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+public class ModrinthSource extends HttpJsonSource {
+    public static final List<String> BUKKIT_LOADERS = List.of("bukkit", "spigot", "paper");
+    private static final URI DEFAULT_API = URI.create("https://api.modrinth.com/v2/");
+    private final URI api;
+    private final String projectId;
+    private final Set<String> loaders;
+
+    public ModrinthSource(String projectId) {
+        this(DEFAULT_API, projectId);
+    }
+
+    public ModrinthSource(URI api, String projectId) {
+        this(api, projectId, BUKKIT_LOADERS);
+    }
+
+    public ModrinthSource(URI api, String projectId, Collection<String> loaders) {
+        this.api = api;
+        this.projectId = projectId;
+        this.loaders = new TreeSet<>(loaders);
+    }
+
+    @Override
+    public String id() {
+        return "modrinth:" + api.getHost() + ":" + projectId + (loaders.isEmpty() ? "" : ":" + String.join(",", loaders));
+    }
+
+    @Override
+    protected URI latestUri() {
+        URI versions = api.resolve("project/" + projectId + "/version");
+        if (loaders.isEmpty()) {
+            return versions;
+        }
+        String filter = loaders.stream().map(loader -> "\"" + loader + "\"").collect(Collectors.joining(",", "[", "]"));
+        return URI.create(versions + "?loaders=" + URLEncoder.encode(filter, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    protected Release readRelease(JsonReader reader) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            Release release = readVersion(reader);
+            if (release != null) {
+                return release;
+            }
+        }
+        throw new IOException("Modrinth project " + projectId + " has no versions for loaders " + loaders);
+    }
+
+    private Release readVersion(JsonReader reader) throws IOException {
+        String version = null;
+        String primaryUrl = null;
+        String firstUrl = null;
+        Set<String> versionLoaders = new HashSet<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("version_number") && reader.peek() == JsonToken.STRING) {
+                version = reader.nextString().trim();
+            } else if (name.equals("loaders") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    if (reader.peek() == JsonToken.STRING) {
+                        versionLoaders.add(reader.nextString());
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endArray();
+            } else if (name.equals("files") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    String url = null;
+                    boolean primary = false;
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        String field = reader.nextName();
+                        if (field.equals("url") && reader.peek() == JsonToken.STRING) {
+                            url = reader.nextString();
+                        } else if (field.equals("primary") && reader.peek() == JsonToken.BOOLEAN) {
+                            primary = reader.nextBoolean();
+                        } else {
+                            reader.skipValue();
+                        }
+                    }
+                    reader.endObject();
+                    if (firstUrl == null) {
+                        firstUrl = url;
+                    }
+                    if (primary && primaryUrl == null) {
+                        primaryUrl = url;
+                    }
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        String downloadUrl = primaryUrl != null ? primaryUrl : firstUrl;
+        if (version == null || downloadUrl == null) {
+            return null;
+        }
+        if (!loaders.isEmpty() && versionLoaders.stream().noneMatch(loaders::contains)) {
+            return null;
+        }
+        return new Release(version, URI.create(downloadUrl), null);
+    }
+}
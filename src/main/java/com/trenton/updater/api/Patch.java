@@ -0,0 +1,6 @@
+package com.trenton.updater.api;
+
+import java.net.URI;
+
+public record Patch(String fromVersion, URI downloadUri, String sha256) {
+}
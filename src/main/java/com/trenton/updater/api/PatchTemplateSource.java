@@ -0,0 +1,36 @@
+package com.trenton.updater.api;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+final class PatchTemplateSource implements UpdateSource {
+    private final UpdateSource source;
+    private final String template;
+
+    PatchTemplateSource(UpdateSource source, String template) {
+        this.source = source;
+        this.template = template;
+    }
+
+    @Override
+    public String id() {
+        return source.id();
+    }
+
+    @Override
+    public CompletableFuture<Release> fetchLatest(SourceContext context) {
+        return source.fetchLatest(context);
+    }
+
+    @Override
+    public CompletableFuture<Patch> fetchPatch(SourceContext context, String fromVersion, Release target) {
+        URI uri = URI.create(template.replace("{from}", encode(fromVersion)).replace("{to}", encode(target.version())));
+        return CompletableFuture.completedFuture(new Patch(fromVersion, uri, null));
+    }
+
+    private static String encode(String version) {
+        return URLEncoder.encode(version, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
@@ -0,0 +1,6 @@
+package com.trenton.updater.api;
+
+import java.net.URI;
+
+public record Release(String version, URI downloadUri, String sha256) {
+}
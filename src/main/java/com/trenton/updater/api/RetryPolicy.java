@@ -0,0 +1,39 @@
+package com.trenton.updater.api;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+
+public record RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff, Set<Integer> retryableStatusCodes) {
+    public static final RetryPolicy DEFAULT = new RetryPolicy(3, Duration.ofMillis(500), Duration.ofSeconds(10),
+            Set.of(408, 429, 500, 502, 503, 504));
+    public static final RetryPolicy NONE = new RetryPolicy(1, Duration.ZERO, Duration.ZERO, Set.of());
+
+    public RetryPolicy {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        if (initialBackoff.isNegative() || maxBackoff.isNegative()) {
+            throw new IllegalArgumentException("backoff must not be negative");
+        }
+        retryableStatusCodes = Set.copyOf(retryableStatusCodes);
+    }
+
+    public Duration backoff(int attempt) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(Math.max(attempt - 1, 0), 16));
+        return UpdateScheduler.jitter(delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay);
+    }
+
+    public boolean isRetryable(int statusCode) {
+        return retryableStatusCodes.contains(statusCode);
+    }
+
+    public boolean isRetryable(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof HttpStatusException status) {
+            return isRetryable(status.getStatusCode());
+        }
+        return cause instanceof IOException && !(cause instanceof IntegrityException) && !(cause instanceof CircuitOpenException);
+    }
+}
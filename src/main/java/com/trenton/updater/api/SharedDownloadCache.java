@@ -0,0 +1,115 @@
+package com.trenton.updater.api;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+final class SharedDownloadCache {
+    private static final ConcurrentMap<Path, CompletableFuture<Void>> LOCAL_QUEUES = new ConcurrentHashMap<>();
+    private final Path root;
+
+    SharedDownloadCache(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    Path entry(String sourceId, String version, String sha256) {
+        return root.resolve(sanitize(sourceId))
+                .resolve(sanitize(version))
+                .resolve((sha256 != null ? sha256.toLowerCase() : "unverified") + ".jar");
+    }
+
+    CompletableFuture<DownloadResult> obtain(Path entry, Path target, Download download) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        CompletableFuture<Void> previous = LOCAL_QUEUES.put(entry, done);
+        CompletableFuture<DownloadResult> result = (previous != null ? previous : CompletableFuture.<Void>completedFuture(null))
+                .thenComposeAsync(ignored -> obtainLocked(entry, target, download), UpdaterExecutors.worker());
+        result.whenComplete((value, error) -> {
+            LOCAL_QUEUES.remove(entry, done);
+            done.complete(null);
+        });
+        return result;
+    }
+
+    private static CompletableFuture<DownloadResult> obtainLocked(Path entry, Path target, Download download) {
+        Path checksum = entry.resolveSibling(entry.getFileName() + ".sha256");
+        FileChannel lockChannel = null;
+        try {
+            Files.createDirectories(entry.getParent());
+            lockChannel = FileChannel.open(entry.resolveSibling(entry.getFileName() + ".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            lockChannel.lock();
+            CompletableFuture<DownloadResult> result;
+            if (Files.isRegularFile(entry) && Files.isRegularFile(checksum)) {
+                result = CompletableFuture.completedFuture(DownloadResult.cached(Files.readString(checksum, StandardCharsets.UTF_8).trim()));
+            } else {
+                result = download.to(entry).thenApplyAsync(downloaded -> {
+                    try {
+                        Files.writeString(checksum, downloaded.sha256(), StandardCharsets.UTF_8);
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                    return downloaded;
+                }, UpdaterExecutors.worker());
+            }
+            FileChannel channel = lockChannel;
+            return result.thenApplyAsync(obtained -> {
+                try {
+                    linkOrCopy(entry, target);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+                return obtained;
+            }, UpdaterExecutors.worker()).whenComplete((obtained, error) -> closeQuietly(channel));
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(lockChannel);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private static void linkOrCopy(Path entry, Path target) throws IOException {
+        Files.deleteIfExists(target);
+        try {
+            Files.createLink(target, entry);
+            return;
+        } catch (IOException | UnsupportedOperationException ignored) {
+        }
+        Path part = target.resolveSibling(target.getFileName() + ".part");
+        Files.copy(entry, part, StandardCopyOption.REPLACE_EXISTING);
+        try {
+            Files.move(part, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String sanitize(String value) {
+        StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            builder.append(Character.isLetterOrDigit(c) || c == '.' || c == '-' || c == '_' ? c : '_');
+        }
+        return builder.toString();
+    }
+
+    interface Download {
+        CompletableFuture<DownloadResult> to(Path file);
+    }
+}
@@ -0,0 +1,109 @@
+package com.trenton.updater.api;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredServiceProvider;
+import org.bukkit.plugin.ServicePriority;
+import org.bukkit.plugin.ServicesManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+final class SharedState {
+    private static final String REGISTRY_ID = "UpdaterAPI.shared-state.v1";
+    private static volatile ConcurrentMap<String, Object> state = discover();
+
+    private SharedState() {
+    }
+
+    static void attach(Plugin plugin) {
+        Services.attach(plugin);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T get(String key, Function<String, T> factory) {
+        return (T) state.computeIfAbsent(key, factory);
+    }
+
+    private static ConcurrentMap<String, Object> discover() {
+        ConcurrentMap<String, Object> shared = null;
+        try {
+            shared = Services.find();
+        } catch (LinkageError ignored) {
+        }
+        if (shared == null) {
+            shared = new ConcurrentHashMap<>();
+            shared.put(REGISTRY_ID, REGISTRY_ID);
+        }
+        return shared;
+    }
+
+    private static final class Services {
+        private Services() {
+        }
+
+        static ConcurrentMap<String, Object> find() {
+            ServicesManager services = servicesManager();
+            if (services == null) {
+                return null;
+            }
+            synchronized (services) {
+                return find(services);
+            }
+        }
+
+        static void attach(Plugin plugin) {
+            ServicesManager services = servicesManager();
+            if (services == null) {
+                return;
+            }
+            if (Bukkit.isPrimaryThread()) {
+                register(services, plugin);
+                return;
+            }
+            ConcurrentMap<String, Object> shared = find();
+            if (shared != null) {
+                state = shared;
+            }
+            if (plugin.isEnabled()) {
+                Bukkit.getScheduler().runTask(plugin, () -> register(services, plugin));
+            }
+        }
+
+        private static void register(ServicesManager services, Plugin plugin) {
+            synchronized (services) {
+                ConcurrentMap<String, Object> shared = find(services);
+                if (shared != null) {
+                    state = shared;
+                } else {
+                    shared = state;
+                }
+                for (RegisteredServiceProvider<?> registration : services.getRegistrations(plugin)) {
+                    if (registration.getProvider() == shared) {
+                        return;
+                    }
+                }
+                services.register(ConcurrentMap.class, shared, plugin, ServicePriority.Lowest);
+            }
+        }
+
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        private static ConcurrentMap<String, Object> find(ServicesManager services) {
+            for (RegisteredServiceProvider<ConcurrentMap> registration : services.getRegistrations(ConcurrentMap.class)) {
+                ConcurrentMap candidate = registration.getProvider();
+                try {
+                    if (REGISTRY_ID.equals(candidate.get(REGISTRY_ID))) {
+                        return candidate;
+                    }
+                } catch (ClassCastException | NullPointerException ignored) {
+                }
+            }
+            return null;
+        }
+
+        private static ServicesManager servicesManager() {
+            return Bukkit.getServer() == null ? null : Bukkit.getServicesManager();
+        }
+    }
+}
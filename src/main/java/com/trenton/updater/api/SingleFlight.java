@@ -0,0 +1,74 @@
+package com.trenton.updater.api;
+
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+final class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight;
+    private final ConcurrentMap<K, Map.Entry<V, Long>> cache;
+    private final AtomicLong ttlNanos;
+
+    SingleFlight(Duration ttl) {
+        this(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), new AtomicLong());
+        setTtl(ttl);
+    }
+
+    private SingleFlight(ConcurrentMap<K, CompletableFuture<V>> inFlight, ConcurrentMap<K, Map.Entry<V, Long>> cache, AtomicLong ttlNanos) {
+        this.inFlight = inFlight;
+        this.cache = cache;
+        this.ttlNanos = ttlNanos;
+    }
+
+    static <V> SingleFlight<String, V> shared(String name, Duration ttl) {
+        return new SingleFlight<>(SharedState.get(name + ":in-flight", ignored -> new ConcurrentHashMap<>()),
+                SharedState.get(name + ":cache", ignored -> new ConcurrentHashMap<>()),
+                SharedState.get(name + ":ttl", ignored -> new AtomicLong(ttl.toNanos())));
+    }
+
+    void setTtl(Duration ttl) {
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("ttl must not be negative");
+        }
+        ttlNanos.set(ttl.toNanos());
+        if (ttl.isZero()) {
+            cache.clear();
+        }
+    }
+
+    CompletableFuture<V> get(K key, Supplier<CompletableFuture<V>> loader) {
+        Map.Entry<V, Long> cached = cache.get(key);
+        if (cached != null && cached.getValue() - System.nanoTime() > 0) {
+            return CompletableFuture.completedFuture(cached.getKey());
+        }
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing.copy();
+        }
+        CompletableFuture<V> load;
+        try {
+            load = loader.get();
+        } catch (Throwable t) {
+            load = CompletableFuture.failedFuture(t);
+        }
+        load.whenComplete((value, error) -> {
+            long ttl = ttlNanos.get();
+            if (error == null && ttl > 0) {
+                cache.put(key, new AbstractMap.SimpleImmutableEntry<>(value, System.nanoTime() + ttl));
+            }
+            inFlight.remove(key, created);
+            if (error != null) {
+                created.completeExceptionally(error);
+            } else {
+                created.complete(value);
+            }
+        });
+        return created.copy();
+    }
+}
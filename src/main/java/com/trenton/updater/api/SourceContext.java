@@ -0,0 +1,25 @@
+package com.trenton.updater.api;
+
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.util.concurrent.Executor;
+
+public interface SourceContext {
+    String userAgent();
+
+    Executor executor();
+
+    Release cachedRelease();
+
+    HttpRequest.Builder request(URI uri);
+
+    void remember(Release release, HttpHeaders headers);
+
+    default void recordStatus(int statusCode) {
+    }
+
+    default RetryPolicy retryPolicy() {
+        return RetryPolicy.DEFAULT;
+    }
+}
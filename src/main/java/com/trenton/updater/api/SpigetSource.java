@@ -0,0 +1,48 @@
+package com.trenton.updater.api;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.net.URI;
+
+public class SpigetSource extends HttpJsonSource {
+    private static final URI DEFAULT_API = URI.create("https://api.spiget.org/v2/");
+    private final URI api;
+    private final int resourceId;
+
+    public SpigetSource(int resourceId) {
+        this(DEFAULT_API, resourceId);
+    }
+
+    public SpigetSource(URI api, int resourceId) {
+        this.api = api;
+        this.resourceId = resourceId;
+    }
+
+    @Override
+    public String id() {
+        return "spiget:" + api.getHost() + ":" + resourceId;
+    }
+
+    @Override
+    protected URI latestUri() {
+        return api.resolve("resources/" + resourceId + "/versions/latest");
+    }
+
+    @Override
+    protected Release readRelease(JsonReader reader) throws IOException {
+        return new Release(readVersionName(reader), api.resolve("resources/" + resourceId + "/download"), null);
+    }
+
+    static String readVersionName(JsonReader reader) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("name") && reader.peek() == JsonToken.STRING) {
+                return reader.nextString().trim();
+            }
+            reader.skipValue();
+        }
+        throw new IOException("Spiget API response missing 'name' field");
+    }
+}
@@ -0,0 +1,37 @@
+package com.trenton.updater.api;
+
+import java.util.concurrent.TimeUnit;
+
+final class TokenBucket {
+    private final long ratePerSecond;
+    private double tokens;
+    private long lastRefill;
+
+    TokenBucket(long ratePerSecond) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("ratePerSecond must be positive");
+        }
+        this.ratePerSecond = ratePerSecond;
+        this.tokens = ratePerSecond;
+        this.lastRefill = System.nanoTime();
+    }
+
+    long ratePerSecond() {
+        return ratePerSecond;
+    }
+
+    void acquire(long amount) throws InterruptedException {
+        long waitNanos = reserve(amount);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    synchronized long reserve(long amount) {
+        long now = System.nanoTime();
+        tokens = Math.min(ratePerSecond, tokens + (now - lastRefill) / 1e9 * ratePerSecond);
+        lastRefill = now;
+        tokens -= amount;
+        return tokens >= 0 ? 0 : (long) (-tokens * 1e9 / ratePerSecond);
+    }
+}
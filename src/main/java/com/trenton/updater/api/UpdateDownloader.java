@@ -0,0 +1,388 @@
+package com.trenton.updater.api;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class UpdateDownloader {
+    static final int BUFFER_SIZE = 256 * 1024;
+    private static final int POOLED_BUFFERS = 4;
+    static final Duration WATCHDOG_PERIOD = Duration.ofSeconds(1);
+    private static final BlockingQueue<ByteBuffer> BUFFER_POOL = new ArrayBlockingQueue<>(POOLED_BUFFERS);
+    private final String userAgent;
+    private final TokenBucket throttle;
+    private final Progress progress;
+    private final RetryPolicy retryPolicy;
+
+    UpdateDownloader(String userAgent, TokenBucket throttle) {
+        this(userAgent, throttle, null, RetryPolicy.DEFAULT);
+    }
+
+    UpdateDownloader(String userAgent, TokenBucket throttle, Progress progress, RetryPolicy retryPolicy) {
+        this.userAgent = userAgent;
+        this.throttle = throttle;
+        this.progress = progress;
+        this.retryPolicy = retryPolicy;
+    }
+
+    DownloadResult download(URI uri, File target, String expectedSha256, Validator validator) throws IOException {
+        Path part = target.toPath().resolveSibling(target.getName() + ".part");
+        MessageDigest digest = sha256();
+        long started = System.nanoTime();
+        IOException failure = null;
+        for (int attempt = 1; attempt <= retryPolicy.maxAttempts(); attempt++) {
+            try {
+                long bytes = attempt(uri, part, digest);
+                if (bytes >= 0) {
+                    String sha256 = HexFormat.of().formatHex(digest.digest());
+                    verify(part, sha256, expectedSha256, validator);
+                    moveAtomically(part, target.toPath());
+                    return new DownloadResult(sha256, bytes, Duration.ofNanos(System.nanoTime() - started), false);
+                }
+            } catch (IntegrityException e) {
+                Files.deleteIfExists(part);
+                throw e;
+            } catch (IOException e) {
+                if (!retryPolicy.isRetryable(e)) {
+                    throw e;
+                }
+                failure = e;
+            }
+            if (attempt < retryPolicy.maxAttempts()) {
+                try {
+                    Thread.sleep(retryPolicy.backoff(attempt).toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Download interrupted", e);
+                }
+            }
+        }
+        throw failure != null ? failure : new IOException("Download did not complete after " + retryPolicy.maxAttempts() + " attempts");
+    }
+
+    CompletableFuture<DownloadResult> downloadAsync(URI uri, File target, String expectedSha256, Validator validator) {
+        if (UpdaterHttp.engine() != UpdaterEngine.EVENT_LOOP || "file".equalsIgnoreCase(uri.getScheme())) {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return download(uri, target, expectedSha256, validator);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, UpdaterExecutors.worker());
+        }
+        Path part = target.toPath().resolveSibling(target.getName() + ".part");
+        MessageDigest digest = sha256();
+        long started = System.nanoTime();
+        return receiveAsync(uri, part, digest, 1).thenApplyAsync(bytes -> {
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            try {
+                verify(part, sha256, expectedSha256, validator);
+                moveAtomically(part, target.toPath());
+            } catch (IOException e) {
+                if (e instanceof IntegrityException) {
+                    deleteQuietly(part);
+                }
+                throw new CompletionException(e);
+            }
+            return new DownloadResult(sha256, bytes, Duration.ofNanos(System.nanoTime() - started), false);
+        }, UpdaterExecutors.worker());
+    }
+
+    private static void verify(Path part, String sha256, String expectedSha256, Validator validator) throws IOException {
+        if (expectedSha256 != null && !expectedSha256.equalsIgnoreCase(sha256)) {
+            throw new IntegrityException("SHA-256 mismatch: expected " + expectedSha256 + ", got " + sha256);
+        }
+        if (validator != null) {
+            validator.validate(part);
+        }
+    }
+
+    private long attempt(URI uri, Path part, MessageDigest digest) throws IOException {
+        if ("file".equalsIgnoreCase(uri.getScheme())) {
+            digest.reset();
+            try (InputStream in = Files.newInputStream(Path.of(uri))) {
+                return write(in, part, 0, Files.size(Path.of(uri)), digest, new AtomicLong(), null, progress);
+            }
+        }
+        long offset = Files.exists(part) ? Files.size(part) : 0;
+        HttpRequest.Builder builder = UpdaterHttp.request(uri, userAgent).GET();
+        if (offset > 0) {
+            builder.header("Range", "bytes=" + offset + "-");
+            hashPrefix(part, offset, digest);
+        }
+        if (UpdaterHttp.engine() == UpdaterEngine.EVENT_LOOP) {
+            return receive(builder.build(), part, offset, digest);
+        }
+        HttpResponse<InputStream> response = UpdaterHttp.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream(), RetryPolicy.NONE);
+        try (InputStream body = response.body()) {
+            long start = bodyStart(response.statusCode(), response.headers(), offset);
+            if (start < 0) {
+                return reject(response.statusCode(), part, offset);
+            }
+            if (start == 0) {
+                digest.reset();
+            }
+            long expectedSize = expectedSize(response.statusCode(), response.headers());
+            AtomicLong lastProgress = new AtomicLong(System.nanoTime());
+            ScheduledFuture<?> watchdog = UpdateScheduler.scheduleAtFixedRate(() -> {
+                if (System.nanoTime() - lastProgress.get() > UpdaterHttp.TIMEOUT.toNanos()) {
+                    closeQuietly(body);
+                }
+            }, WATCHDOG_PERIOD);
+            try {
+                return write(body, part, start, expectedSize, digest, lastProgress, throttle, progress);
+            } finally {
+                watchdog.cancel(false);
+            }
+        }
+    }
+
+    private long receive(HttpRequest request, Path part, long offset, MessageDigest digest) throws IOException {
+        HttpResponse<Long> response = UpdaterHttp.send(request, fileBody(part, offset, digest), RetryPolicy.NONE);
+        if (bodyStart(response.statusCode(), response.headers(), offset) < 0) {
+            return reject(response.statusCode(), part, offset);
+        }
+        return response.body();
+    }
+
+    private CompletableFuture<Long> receiveAsync(URI uri, Path part, MessageDigest digest, int attempt) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                long offset = Files.exists(part) ? Files.size(part) : 0;
+                if (offset > 0) {
+                    hashPrefix(part, offset, digest);
+                }
+                return offset;
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, UpdaterExecutors.worker()).thenCompose(offset -> {
+            HttpRequest.Builder builder = UpdaterHttp.request(uri, userAgent).GET();
+            if (offset > 0) {
+                builder.header("Range", "bytes=" + offset + "-");
+            }
+            return UpdaterHttp.sendAsync(builder.build(), fileBody(part, offset, digest), RetryPolicy.NONE).thenApply(response -> {
+                if (bodyStart(response.statusCode(), response.headers(), offset) >= 0) {
+                    return response.body();
+                }
+                try {
+                    return reject(response.statusCode(), part, offset);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            });
+        }).handle((bytes, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause == null && bytes >= 0) {
+                return CompletableFuture.completedFuture(bytes);
+            }
+            if (cause != null && !retryPolicy.isRetryable(cause)) {
+                return CompletableFuture.<Long>failedFuture(cause);
+            }
+            if (attempt >= retryPolicy.maxAttempts()) {
+                return CompletableFuture.<Long>failedFuture(cause != null ? cause
+                        : new IOException("Download did not complete after " + retryPolicy.maxAttempts() + " attempts"));
+            }
+            CompletableFuture<Long> next = new CompletableFuture<>();
+            UpdateScheduler.schedule(() -> receiveAsync(uri, part, digest, attempt + 1).whenComplete((retried, retryError) -> {
+                if (retryError != null) {
+                    next.completeExceptionally(retryError);
+                } else {
+                    next.complete(retried);
+                }
+            }), retryPolicy.backoff(attempt));
+            return next;
+        }).thenCompose(next -> next);
+    }
+
+    private HttpResponse.BodyHandler<Long> fileBody(Path part, long offset, MessageDigest digest) {
+        return info -> {
+            long start = bodyStart(info.statusCode(), info.headers(), offset);
+            if (start < 0) {
+                return HttpResponse.BodySubscribers.replacing(-1L);
+            }
+            if (start == 0) {
+                digest.reset();
+            }
+            return new FileBodySubscriber(part, start, expectedSize(info.statusCode(), info.headers()), digest, throttle, progress);
+        };
+    }
+
+    private static long bodyStart(int statusCode, HttpHeaders headers, long offset) {
+        if (statusCode == 200) {
+            return 0;
+        }
+        if (statusCode == 206 && offset > 0 && rangeStart(headers.firstValue("Content-Range").orElse("")) == offset) {
+            return offset;
+        }
+        return -1;
+    }
+
+    private static long expectedSize(int statusCode, HttpHeaders headers) {
+        return statusCode == 206
+                ? rangeTotal(headers.firstValue("Content-Range").orElse(""))
+                : headers.firstValueAsLong("Content-Length").orElse(-1);
+    }
+
+    private static long reject(int statusCode, Path part, long offset) throws IOException {
+        if ((statusCode == 206 && offset > 0) || statusCode == 416) {
+            Files.deleteIfExists(part);
+            return -1;
+        }
+        throw new HttpStatusException(statusCode);
+    }
+
+    private static long write(InputStream in, Path part, long offset, long expectedSize, MessageDigest digest,
+                              AtomicLong lastProgress, TokenBucket throttle, Progress progress) throws IOException {
+        ByteBuffer buffer = acquireBuffer();
+        long position = offset;
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.truncate(offset);
+            byte[] array = buffer.array();
+            int filled;
+            while ((filled = fill(in, array, lastProgress, throttle)) > 0) {
+                digest.update(array, 0, filled);
+                buffer.clear().limit(filled);
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+                if (progress != null) {
+                    progress.update(position, expectedSize);
+                }
+            }
+            if (expectedSize >= 0 && position != expectedSize) {
+                throw new IOException("Incomplete download: received " + position + " of " + expectedSize + " bytes");
+            }
+            return position;
+        } finally {
+            releaseBuffer(buffer);
+        }
+    }
+
+    private static int fill(InputStream in, byte[] array, AtomicLong lastProgress, TokenBucket throttle) throws IOException {
+        int filled = 0;
+        while (filled < array.length) {
+            int read = in.read(array, filled, array.length - filled);
+            if (read < 0) {
+                break;
+            }
+            filled += read;
+            lastProgress.set(System.nanoTime());
+            if (throttle != null) {
+                throttle(throttle, read);
+            }
+        }
+        return filled;
+    }
+
+    private static void throttle(TokenBucket throttle, int bytes) throws IOException {
+        try {
+            throttle.acquire(bytes);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Download interrupted", e);
+        }
+    }
+
+    private static ByteBuffer acquireBuffer() {
+        ByteBuffer buffer = BUFFER_POOL.poll();
+        return buffer != null ? buffer.clear() : ByteBuffer.allocate(BUFFER_SIZE);
+    }
+
+    private static void releaseBuffer(ByteBuffer buffer) {
+        BUFFER_POOL.offer(buffer);
+    }
+
+    private static void hashPrefix(Path part, long length, MessageDigest digest) throws IOException {
+        digest.reset();
+        ByteBuffer buffer = acquireBuffer();
+        try (InputStream in = Files.newInputStream(part)) {
+            byte[] array = buffer.array();
+            long remaining = length;
+            int read;
+            while (remaining > 0 && (read = in.read(array, 0, (int) Math.min(array.length, remaining))) >= 0) {
+                digest.update(array, 0, read);
+                remaining -= read;
+            }
+        } finally {
+            releaseBuffer(buffer);
+        }
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static long rangeStart(String contentRange) {
+        try {
+            int space = contentRange.indexOf(' ');
+            int dash = contentRange.indexOf('-', space);
+            return Long.parseLong(contentRange.substring(space + 1, dash).trim());
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private static long rangeTotal(String contentRange) {
+        try {
+            return Long.parseLong(contentRange.substring(contentRange.indexOf('/') + 1).trim());
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    interface Validator {
+        void validate(Path file) throws IOException;
+    }
+
+    interface Progress {
+        void update(long bytesReceived, long totalBytes);
+    }
+}
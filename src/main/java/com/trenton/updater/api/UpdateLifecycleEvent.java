@@ -0,0 +1,60 @@
+package com.trenton.updater.api;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+import java.io.File;
+
+public class UpdateLifecycleEvent extends Event {
+    private static final HandlerList HANDLERS = new HandlerList();
+    private final UpdaterService updater;
+    private final Stage stage;
+    private final String version;
+    private final File file;
+    private final Throwable cause;
+
+    public UpdateLifecycleEvent(UpdaterService updater, Stage stage, String version, File file, Throwable cause) {
+        this.updater = updater;
+        this.stage = stage;
+        this.version = version;
+        this.file = file;
+        this.cause = cause;
+    }
+
+    public UpdaterService getUpdater() {
+        return updater;
+    }
+
+    public Stage getStage() {
+        return stage;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public Throwable getCause() {
+        return cause;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+
+    public enum Stage {
+        CHECK_STARTED,
+        UPDATE_FOUND,
+        DOWNLOAD_COMPLETED,
+        APPLY_SUCCEEDED,
+        APPLY_FAILED
+    }
+}
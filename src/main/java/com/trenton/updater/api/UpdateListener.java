@@ -0,0 +1,29 @@
+package com.trenton.updater.api;
+
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.File;
+
+public interface UpdateListener {
+    static UpdateListener bukkitEvents(JavaPlugin plugin) {
+        return new BukkitEventBridge(plugin);
+    }
+
+    default void checkStarted(UpdaterService updater) {
+    }
+
+    default void updateFound(UpdaterService updater, UpdateResult result) {
+    }
+
+    default void downloadProgress(UpdaterService updater, String version, long bytesReceived, long totalBytes) {
+    }
+
+    default void downloadCompleted(UpdaterService updater, String version, File file) {
+    }
+
+    default void applySucceeded(UpdaterService updater, String version, File file) {
+    }
+
+    default void applyFailed(UpdaterService updater, String version, Throwable cause) {
+    }
+}
@@ -0,0 +1,70 @@
+package com.trenton.updater.api;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+final class UpdateListeners {
+    private final List<UpdateListener> listeners = new CopyOnWriteArrayList<>();
+    private final Queue<Runnable> pending = new ArrayDeque<>();
+    private final Logger logger;
+    private boolean draining;
+
+    UpdateListeners(Logger logger) {
+        this.logger = logger;
+    }
+
+    void add(UpdateListener listener) {
+        listeners.add(listener);
+    }
+
+    void remove(UpdateListener listener) {
+        listeners.remove(listener);
+    }
+
+    void fire(Consumer<UpdateListener> event) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        synchronized (pending) {
+            pending.add(() -> dispatch(event));
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+        UpdaterExecutors.worker().execute(this::drain);
+    }
+
+    void fireNow(Consumer<UpdateListener> event) {
+        dispatch(event);
+    }
+
+    private void drain() {
+        while (true) {
+            Runnable next;
+            synchronized (pending) {
+                next = pending.poll();
+                if (next == null) {
+                    draining = false;
+                    return;
+                }
+            }
+            next.run();
+        }
+    }
+
+    private void dispatch(Consumer<UpdateListener> event) {
+        for (UpdateListener listener : listeners) {
+            try {
+                event.accept(listener);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Update listener " + listener.getClass().getName() + " failed", e);
+            }
+        }
+    }
+}
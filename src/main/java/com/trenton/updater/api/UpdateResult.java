@@ -0,0 +1,4 @@
+package com.trenton.updater.api;
+
+public record UpdateResult(String currentVersion, String latestVersion, boolean updateAvailable) {
+}
@@ -0,0 +1,41 @@
+package com.trenton.updater.api;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+final class UpdateScheduler {
+    private static final double JITTER = 0.1;
+
+    private UpdateScheduler() {
+    }
+
+    static ScheduledFuture<?> schedule(Runnable task, Duration delay) {
+        return Holder.EXECUTOR.schedule(task, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    static ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Duration period) {
+        return Holder.EXECUTOR.scheduleAtFixedRate(task, period.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    static Duration jitter(Duration delay) {
+        double factor = 1 - JITTER + ThreadLocalRandom.current().nextDouble() * 2 * JITTER;
+        return Duration.ofMillis((long) (delay.toMillis() * factor));
+    }
+
+    private static final class Holder {
+        private static final ScheduledThreadPoolExecutor EXECUTOR = createExecutor();
+
+        private static ScheduledThreadPoolExecutor createExecutor() {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "UpdaterAPI-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+}
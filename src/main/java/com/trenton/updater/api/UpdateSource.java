@@ -0,0 +1,17 @@
+package com.trenton.updater.api;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface UpdateSource {
+    static UpdateSource withPatches(UpdateSource source, String patchUriTemplate) {
+        return new PatchTemplateSource(source, patchUriTemplate);
+    }
+
+    String id();
+
+    CompletableFuture<Release> fetchLatest(SourceContext context);
+
+    default CompletableFuture<Patch> fetchPatch(SourceContext context, String fromVersion, Release target) {
+        return CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,19 @@
+package com.trenton.updater.api;
+
+import java.io.File;
+
+record UpdateState(Release latestRelease, boolean updateAvailable, File downloadedUpdate, String downloadedVersion) {
+    static final UpdateState INITIAL = new UpdateState(null, false, null, null);
+
+    String latestVersion() {
+        return latestRelease == null ? null : latestRelease.version();
+    }
+
+    UpdateState withLatestRelease(Release latestRelease, boolean updateAvailable) {
+        return new UpdateState(latestRelease, updateAvailable, downloadedUpdate, downloadedVersion);
+    }
+
+    UpdateState withDownload(File downloadedUpdate, String downloadedVersion) {
+        return new UpdateState(latestRelease, updateAvailable, downloadedUpdate, downloadedVersion);
+    }
+}
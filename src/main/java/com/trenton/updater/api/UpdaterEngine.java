@@ -0,0 +1,6 @@
+package com.trenton.updater.api;
+
+public enum UpdaterEngine {
+    POOLED,
+    EVENT_LOOP
+}
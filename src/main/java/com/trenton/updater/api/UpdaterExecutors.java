@@ -0,0 +1,76 @@
+package com.trenton.updater.api;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class UpdaterExecutors {
+    private static final int WORKER_THREADS = 4;
+
+    private UpdaterExecutors() {
+    }
+
+    static Executor worker() {
+        return WorkerHolder.WORKER;
+    }
+
+    static Executor eventLoop() {
+        return EventLoopHolder.EVENT_LOOP;
+    }
+
+    private static final class WorkerHolder {
+        private static final Executor WORKER = createWorker();
+
+        private static Executor createWorker() {
+            if (Runtime.version().feature() >= 21) {
+                try {
+                    return virtualThreadExecutor();
+                } catch (Throwable ignored) {
+                }
+            }
+            AtomicInteger counter = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(WORKER_THREADS, WORKER_THREADS, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "UpdaterAPI-worker-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+
+        private static Executor virtualThreadExecutor() throws Throwable {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            Class<?> ofVirtual = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            Object virtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtual)).invoke();
+            virtual = lookup.findVirtual(ofVirtual, "name", MethodType.methodType(ofVirtual, String.class, long.class))
+                    .invoke(virtual, "UpdaterAPI-worker-", 1L);
+            ThreadFactory factory = (ThreadFactory) lookup.findVirtual(builder, "factory", MethodType.methodType(ThreadFactory.class))
+                    .invoke(virtual);
+            return (Executor) lookup.findStatic(Executors.class, "newThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class, ThreadFactory.class)).invoke(factory);
+        }
+    }
+
+    private static final class EventLoopHolder {
+        private static final Executor EVENT_LOOP = createEventLoop();
+
+        private static Executor createEventLoop() {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "UpdaterAPI-event-loop");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+}
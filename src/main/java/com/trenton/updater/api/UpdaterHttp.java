@@ -0,0 +1,128 @@
+package com.trenton.updater.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+final class UpdaterHttp {
+    static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static UpdaterEngine engine = UpdaterEngine.POOLED;
+    private static boolean clientCreated;
+
+    private UpdaterHttp() {
+    }
+
+    static synchronized HttpClient client() {
+        clientCreated = true;
+        UpdaterEngine engine = UpdaterHttp.engine;
+        return SharedState.get("http-client:" + engine.name(), ignored -> createClient(engine));
+    }
+
+    static synchronized void setEngine(UpdaterEngine engine) {
+        if (clientCreated && engine != UpdaterHttp.engine) {
+            throw new IllegalStateException("The update engine must be chosen before the first request");
+        }
+        UpdaterHttp.engine = engine;
+    }
+
+    static synchronized UpdaterEngine engine() {
+        return engine;
+    }
+
+    static HttpResponse.BodyHandler<InputStream> jsonBody() {
+        return engine() == UpdaterEngine.EVENT_LOOP ? BufferedBodySubscriber.handler() : HttpResponse.BodyHandlers.ofInputStream();
+    }
+
+    private static HttpClient createClient(UpdaterEngine engine) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(TIMEOUT)
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        if (engine == UpdaterEngine.EVENT_LOOP) {
+            builder.executor(UpdaterExecutors.eventLoop());
+        }
+        return builder.build();
+    }
+
+    static HttpRequest.Builder request(URI uri, String userAgent) {
+        return HttpRequest.newBuilder(uri)
+                .header("User-Agent", userAgent)
+                .timeout(TIMEOUT);
+    }
+
+    static <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> handler, RetryPolicy policy) {
+        return attempt(request, handler, policy, 1);
+    }
+
+    static <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler, RetryPolicy policy) throws IOException {
+        try {
+            return sendAsync(request, handler, policy).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Request to " + request.uri() + " interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static <T> CompletableFuture<HttpResponse<T>> attempt(HttpRequest request, HttpResponse.BodyHandler<T> handler,
+                                                                  RetryPolicy policy, int attempt) {
+        HostRateLimiter limiter = HostRateLimiter.forHost(request.uri());
+        return limiter.acquire().thenCompose(ready -> send(request, handler, policy, attempt, limiter));
+    }
+
+    private static <T> CompletableFuture<HttpResponse<T>> send(HttpRequest request, HttpResponse.BodyHandler<T> handler,
+                                                               RetryPolicy policy, int attempt, HostRateLimiter limiter) {
+        CircuitBreaker breaker = CircuitBreaker.forHost(request.uri());
+        if (!breaker.tryAcquire()) {
+            return CompletableFuture.failedFuture(new CircuitOpenException(breaker.host()));
+        }
+        return client().sendAsync(request, handler).handle((response, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (response != null) {
+                limiter.onResponse(response);
+            }
+            if (cause != null || response.statusCode() >= 500) {
+                breaker.onFailure();
+            } else {
+                breaker.onSuccess();
+            }
+            boolean retry = attempt < policy.maxAttempts()
+                    && (cause != null ? policy.isRetryable(cause) : policy.isRetryable(response.statusCode()));
+            if (!retry) {
+                return cause != null ? CompletableFuture.<HttpResponse<T>>failedFuture(cause) : CompletableFuture.completedFuture(response);
+            }
+            if (response != null) {
+                discard(response);
+            }
+            CompletableFuture<HttpResponse<T>> next = new CompletableFuture<>();
+            UpdateScheduler.schedule(() -> attempt(request, handler, policy, attempt + 1).whenComplete((retried, retryError) -> {
+                if (retryError != null) {
+                    next.completeExceptionally(retryError);
+                } else {
+                    next.complete(retried);
+                }
+            }), policy.backoff(attempt));
+            return next;
+        }).thenCompose(next -> next);
+    }
+
+    private static void discard(HttpResponse<?> response) {
+        if (response.body() instanceof AutoCloseable body) {
+            try {
+                body.close();
+            } catch (Exception ignored) {
+            }
+        }
+    }
+}
@@ -1,144 +1,467 @@
 package com.trenton.updater.api;
 
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import org.bukkit.plugin.java.JavaPlugin;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.nio.channels.Channels;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 public class UpdaterImpl implements UpdaterService {
+    private static final int MAX_CONCURRENT_CHECKS = 8;
+    private static final Duration MAX_BACKOFF = Duration.ofHours(24);
+    private static final Duration DOWNLOAD_DEFERRAL = Duration.ofMinutes(5);
+    private static volatile TokenBucket downloadThrottle;
+    private static volatile UpdaterMetrics metrics = UpdaterMetrics.NONE;
+    private static final String LATEST_RELEASES = "latest-releases";
+    private static final Duration LATEST_RELEASES_TTL = Duration.ofSeconds(30);
     private final JavaPlugin plugin;
-    private final int resourceId;
-    private String latestVersion;
-    private boolean updateAvailable;
-    private File downloadedUpdate;
+    private final UpdateSource source;
+    private final AtomicReference<UpdateState> state = new AtomicReference<>(UpdateState.INITIAL);
+    private final AtomicReference<CompletableFuture<UpdateResult>> inFlightCheck = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<Void>> inFlightDownload = new AtomicReference<>();
+    private final VersionCache versionCache;
+    private final UpdateListeners listeners;
+    private PeriodicCheck periodicCheck;
+    private volatile Version.Fallback versionFallback = Version.Fallback.LENIENT;
+    private volatile URI checksumManifest;
+    private volatile SharedDownloadCache sharedDownloadCache;
+    private volatile DownloadWindow downloadWindow = DownloadWindow.always();
+    private volatile RetryPolicy retryPolicy = RetryPolicy.DEFAULT;
+    private volatile boolean deltaUpdates;
+    private final AtomicBoolean downloadDeferred = new AtomicBoolean();
 
     public UpdaterImpl(JavaPlugin plugin, int resourceId) {
+        this(plugin, new SpigetSource(resourceId));
+    }
+
+    public UpdaterImpl(JavaPlugin plugin, UpdateSource source) {
         this.plugin = plugin;
-        this.resourceId = resourceId;
-        this.updateAvailable = false;
+        SharedState.attach(plugin);
+        this.source = source;
+        this.versionCache = new VersionCache(new File(plugin.getDataFolder(), "AutoUpdater"));
+        this.listeners = new UpdateListeners(plugin.getLogger());
+        try {
+            versionCache.load();
+            restoreCachedState();
+        } catch (IOException | NumberFormatException e) {
+            plugin.getLogger().warning("Failed to load update cache: " + e.getMessage());
+        }
+    }
+
+    private void restoreCachedState() {
+        Release cachedRelease = versionCache.getRelease(source.id());
+        if (cachedRelease == null) {
+            return;
+        }
+        String currentVersion = plugin.getDescription().getVersion().trim();
+        UpdateState restored = UpdateState.INITIAL.withLatestRelease(cachedRelease, isVersionNewer(cachedRelease.version(), currentVersion));
+        File downloadedFile = versionCache.getDownloadedFile();
+        String downloadedVersion = versionCache.getDownloadedVersion();
+        if (downloadedFile != null && downloadedFile.isFile() && isVersionNewer(downloadedVersion, currentVersion)) {
+            restored = restored.withDownload(downloadedFile, downloadedVersion);
+        }
+        state.set(restored);
     }
 
     @Override
     public void checkForUpdates(boolean autoUpdate) {
         try {
-            URL url = new URL("https://api.spiget.org/v2/resources/" + resourceId + "/versions/latest");
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            connection.setRequestProperty("User-Agent", plugin.getName() + "-Updater");
-            connection.setConnectTimeout(5000);
-            connection.setReadTimeout(5000);
-
-            int responseCode = connection.getResponseCode();
-            if (responseCode != 200) {
-                plugin.getLogger().warning("Failed to check for updates: HTTP " + responseCode);
-                return;
-            }
+            checkForUpdatesAsync(autoUpdate).join();
+        } catch (CompletionException ignored) {
+        }
+    }
+
+    @Override
+    public CompletableFuture<UpdateResult> checkForUpdatesAsync(boolean autoUpdate) {
+        CompletableFuture<UpdateResult> check = check(this::fetchLatest);
+        return autoUpdate ? check.thenComposeAsync(this::downloadIfAvailable, UpdaterExecutors.worker()) : check;
+    }
 
-            BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-            StringBuilder response = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                response.append(line);
+    private CompletableFuture<UpdateResult> check(Supplier<CompletableFuture<Release>> latest) {
+        CompletableFuture<UpdateResult> check;
+        while ((check = inFlightCheck.get()) == null) {
+            CompletableFuture<UpdateResult> created = new CompletableFuture<>();
+            if (inFlightCheck.compareAndSet(null, created)) {
+                listeners.fire(listener -> listener.checkStarted(this));
+                logFailure(latest.get().thenApplyAsync(this::handleLatestRelease, UpdaterExecutors.worker()))
+                        .whenComplete((result, error) -> {
+                            inFlightCheck.compareAndSet(created, null);
+                            if (error != null) {
+                                created.completeExceptionally(error);
+                            } else {
+                                created.complete(result);
+                            }
+                        });
+                return created;
             }
-            reader.close();
-            connection.disconnect();
+        }
+        return check;
+    }
 
-            JsonObject json = JsonParser.parseString(response.toString()).getAsJsonObject();
-            if (!json.has("name")) {
-                plugin.getLogger().warning("Spiget API response missing 'name' field");
-                return;
+    @Override
+    public synchronized void schedulePeriodicChecks(Duration interval, boolean autoUpdate) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("interval must be positive");
+        }
+        cancelPeriodicChecks();
+        periodicCheck = new PeriodicCheck(interval, autoUpdate);
+        periodicCheck.scheduleNext(UpdateScheduler.jitter(interval));
+    }
+
+    @Override
+    public synchronized void cancelPeriodicChecks() {
+        if (periodicCheck != null) {
+            periodicCheck.cancel();
+            periodicCheck = null;
+        }
+    }
+
+    static CompletableFuture<Map<UpdaterService, UpdateResult>> checkAll(Collection<? extends UpdaterService> updaters, boolean autoUpdate) {
+        AsyncLimiter limiter = new AsyncLimiter(MAX_CONCURRENT_CHECKS);
+        Map<String, List<UpdaterImpl>> bySource = new LinkedHashMap<>();
+        Map<UpdaterService, CompletableFuture<UpdateResult>> futures = new LinkedHashMap<>();
+        for (UpdaterService updater : updaters) {
+            if (updater instanceof UpdaterImpl impl) {
+                bySource.computeIfAbsent(impl.source.id(), id -> new ArrayList<>()).add(impl);
+            } else {
+                futures.put(updater, limiter.submit(() -> updater.checkForUpdatesAsync(autoUpdate)));
             }
-            latestVersion = json.get("name").getAsString().trim();
-            String currentVersion = plugin.getDescription().getVersion().trim();
+        }
+        for (List<UpdaterImpl> group : bySource.values()) {
+            CompletableFuture<Release> latest = limiter.submit(group.get(0)::fetchLatest);
+            for (UpdaterImpl impl : group) {
+                CompletableFuture<UpdateResult> result = impl.check(() -> latest);
+                futures.put(impl, autoUpdate ? result.thenComposeAsync(impl::downloadIfAvailable, UpdaterExecutors.worker()) : result);
+            }
+        }
+        return CompletableFuture.allOf(futures.values().stream()
+                        .map(future -> future.handle((result, error) -> result))
+                        .toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    Map<UpdaterService, UpdateResult> results = new LinkedHashMap<>();
+                    futures.forEach((updater, future) -> {
+                        UpdateResult result = future.exceptionally(error -> null).join();
+                        if (result != null) {
+                            results.put(updater, result);
+                        }
+                    });
+                    return results;
+                });
+    }
 
-            if (isVersionNewer(latestVersion, currentVersion)) {
-                updateAvailable = true;
-                plugin.getLogger().info("Update available: v" + latestVersion + " (current: v" + currentVersion + ")");
-                if (autoUpdate) {
-                    downloadUpdate();
-                }
+    public static void setSharedCacheTtl(Duration ttl) {
+        latestReleases().setTtl(ttl);
+    }
+
+    public static void setMetrics(UpdaterMetrics metrics) {
+        UpdaterImpl.metrics = metrics == null ? UpdaterMetrics.NONE : metrics;
+    }
+
+    private CompletableFuture<Release> fetchLatest() {
+        AtomicBoolean requested = new AtomicBoolean();
+        CompletableFuture<List<Object>> release = latestReleases().get(source.id(), () -> {
+            requested.set(true);
+            return requestLatest().thenApply(UpdaterImpl::encode);
+        });
+        metrics.cacheLookup(UpdaterMetrics.VERSION_CACHE, !requested.get());
+        return release.thenApply(UpdaterImpl::decode);
+    }
+
+    private static SingleFlight<String, List<Object>> latestReleases() {
+        return SingleFlight.shared(LATEST_RELEASES, LATEST_RELEASES_TTL);
+    }
+
+    private static List<Object> encode(Release release) {
+        return release == null ? null : Arrays.asList(release.version(), release.downloadUri(), release.sha256());
+    }
+
+    private static Release decode(List<Object> release) {
+        return release == null ? null : new Release((String) release.get(0), (URI) release.get(1), (String) release.get(2));
+    }
+
+    private CompletableFuture<Release> requestLatest() {
+        long started = System.nanoTime();
+        return source.fetchLatest(new Context()).whenComplete((release, error) -> {
+            Duration latency = Duration.ofNanos(System.nanoTime() - started);
+            if (error != null) {
+                metrics.checkFailed(source.id(), latency, error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
             } else {
-                plugin.getLogger().info("No update available. Current: v" + currentVersion + ", Spigot: v" + latestVersion);
+                metrics.checkCompleted(source.id(), latency);
             }
-        } catch (Exception e) {
-            plugin.getLogger().warning("Failed to check for updates: " + e.getMessage());
+        });
+    }
+
+    private <T> CompletableFuture<T> logFailure(CompletableFuture<T> future) {
+        return future.whenComplete((result, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                plugin.getLogger().warning("Failed to check for updates: " + cause.getMessage());
+            }
+        });
+    }
+
+    private UpdateResult handleLatestRelease(Release release) {
+        String latestVersion = release.version();
+        String currentVersion = plugin.getDescription().getVersion().trim();
+        boolean updateAvailable = isVersionNewer(latestVersion, currentVersion);
+        state.updateAndGet(current -> current.withLatestRelease(release, updateAvailable));
+        UpdateResult result = new UpdateResult(currentVersion, latestVersion, updateAvailable);
+        if (updateAvailable) {
+            plugin.getLogger().info("Update available: v" + latestVersion + " (current: v" + currentVersion + ")");
+            listeners.fire(listener -> listener.updateFound(this, result));
+        } else {
+            plugin.getLogger().info("No update available. Current: v" + currentVersion + ", Latest: v" + latestVersion);
         }
+        return result;
     }
 
-    private boolean isVersionNewer(String latest, String current) {
+    private CompletableFuture<UpdateResult> downloadIfAvailable(UpdateResult result) {
+        Release release = state.get().latestRelease();
+        if (!result.updateAvailable() || release == null || !release.version().equals(result.latestVersion())
+                || release.version().equals(state.get().downloadedVersion())) {
+            return CompletableFuture.completedFuture(result);
+        }
+        if (downloadWindow.isOpen()) {
+            return findPatch(release).thenCompose(patch -> downloadUpdate(release, patch)).thenApply(ignored -> result);
+        }
+        if (downloadDeferred.compareAndSet(false, true)) {
+            plugin.getLogger().info("Deferring download of v" + release.version() + " until the download window opens.");
+            UpdateScheduler.schedule(() -> {
+                downloadDeferred.set(false);
+                downloadIfAvailable(result);
+            }, DOWNLOAD_DEFERRAL);
+        }
+        return CompletableFuture.completedFuture(result);
+    }
+
+    private CompletableFuture<Patch> findPatch(Release release) {
+        if (!deltaUpdates) {
+            return CompletableFuture.completedFuture(null);
+        }
         try {
-            String normalizedLatest = latest.replaceAll("[^0-9.]", "").trim();
-            String normalizedCurrent = current.replaceAll("[^0-9.]", "").trim();
-            String[] latestParts = normalizedLatest.split("\\.");
-            String[] currentParts = normalizedCurrent.split("\\.");
-            int maxLength = Math.max(latestParts.length, currentParts.length);
-            for (int i = 0; i < maxLength; i++) {
-                int latestNum = i < latestParts.length ? Integer.parseInt(latestParts[i]) : 0;
-                int currentNum = i < currentParts.length ? Integer.parseInt(currentParts[i]) : 0;
-                if (latestNum > currentNum) return true;
-                if (latestNum < currentNum) return false;
+            if (!installedJar().isFile()) {
+                return CompletableFuture.completedFuture(null);
             }
-            return false;
-        } catch (NumberFormatException e) {
+            String currentVersion = plugin.getDescription().getVersion().trim();
+            return source.fetchPatch(new Context(), currentVersion, release).exceptionally(error -> {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                plugin.getLogger().warning("Failed to look up a delta patch: " + cause.getMessage());
+                return null;
+            });
+        } catch (RuntimeException | URISyntaxException e) {
+            plugin.getLogger().warning("Failed to look up a delta patch: " + e.getMessage());
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private boolean isVersionNewer(String latest, String current) {
+        try {
+            return Version.parse(latest, versionFallback).isNewerThan(Version.parse(current, versionFallback));
+        } catch (IllegalArgumentException e) {
             plugin.getLogger().warning("Invalid version format: latest=" + latest + ", current=" + current);
             return false;
         }
     }
 
-    private void downloadUpdate() {
-        try {
-            File updateFolder = new File(plugin.getDataFolder(), "AutoUpdater");
-            if (!updateFolder.exists()) {
-                updateFolder.mkdirs();
+    public void setVersionFallback(Version.Fallback versionFallback) {
+        this.versionFallback = versionFallback;
+    }
+
+    public void setChecksumManifest(URI checksumManifest) {
+        this.checksumManifest = checksumManifest;
+    }
+
+    public static void setDownloadRateLimit(long bytesPerSecond) {
+        downloadThrottle = bytesPerSecond > 0 ? new TokenBucket(bytesPerSecond) : null;
+    }
+
+    public static void setEngine(UpdaterEngine engine) {
+        UpdaterHttp.setEngine(engine == null ? UpdaterEngine.POOLED : engine);
+    }
+
+    public static void setRequestRateLimit(long requestsPerSecond) {
+        HostRateLimiter.setRequestsPerSecond(requestsPerSecond);
+    }
+
+    public void setDownloadWindow(DownloadWindow downloadWindow) {
+        this.downloadWindow = downloadWindow == null ? DownloadWindow.always() : downloadWindow;
+    }
+
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy == null ? RetryPolicy.NONE : retryPolicy;
+    }
+
+    public void setDeltaUpdates(boolean deltaUpdates) {
+        this.deltaUpdates = deltaUpdates;
+    }
+
+    public void setSharedDownloadCache(Path directory) {
+        this.sharedDownloadCache = directory == null ? null : new SharedDownloadCache(directory);
+    }
+
+    private CompletableFuture<Void> downloadUpdate(Release release, Patch patch) {
+        CompletableFuture<Void> running = inFlightDownload.get();
+        if (running != null) {
+            return running.thenCompose(ignored -> downloadUpdate(release, patch));
+        }
+        CompletableFuture<Void> created = new CompletableFuture<>();
+        if (!inFlightDownload.compareAndSet(null, created)) {
+            return downloadUpdate(release, patch);
+        }
+        startDownload(release, patch).whenComplete((ignored, error) -> {
+            inFlightDownload.compareAndSet(created, null);
+            created.complete(null);
+        });
+        return created;
+    }
+
+    private CompletableFuture<Void> startDownload(Release release, Patch patch) {
+        String latestVersion = release.version();
+        if (latestVersion.equals(state.get().downloadedVersion())) {
+            return CompletableFuture.completedFuture(null);
+        }
+        File updateFolder = new File(plugin.getDataFolder(), "AutoUpdater");
+        if (!updateFolder.exists()) {
+            updateFolder.mkdirs();
+        }
+        File downloadedUpdate = new File(updateFolder, plugin.getName() + "-" + latestVersion + ".jar");
+        if (downloadedUpdate.exists()) {
+            plugin.getLogger().info("Update file " + downloadedUpdate.getPath() + " already exists.");
+            recordDownload(downloadedUpdate, latestVersion);
+            listeners.fire(listener -> listener.downloadCompleted(this, latestVersion, downloadedUpdate));
+            return CompletableFuture.completedFuture(null);
+        }
+
+        URI manifest = checksumManifest;
+        CompletableFuture<String> checksum = release.sha256() == null && manifest != null
+                ? ChecksumManifest.fetchSha256(manifest, plugin.getName(), latestVersion, userAgent(), retryPolicy)
+                : CompletableFuture.completedFuture(release.sha256());
+        SharedDownloadCache cache = sharedDownloadCache;
+        return checksum.thenCompose(expectedSha256 -> {
+            if (manifest != null && expectedSha256 == null) {
+                plugin.getLogger().warning("No checksum for v" + latestVersion + " in " + manifest + "; skipping hash verification.");
             }
-            downloadedUpdate = new File(updateFolder, plugin.getName() + "-" + latestVersion + ".jar");
-            if (downloadedUpdate.exists()) {
-                plugin.getLogger().info("Update file " + downloadedUpdate.getPath() + " already exists.");
-                return;
+            UpdateDownloader.Progress progress = (received, total) ->
+                    listeners.fire(listener -> listener.downloadProgress(this, latestVersion, received, total));
+            SharedDownloadCache.Download download = file -> (patch != null && expectedSha256 != null
+                    ? downloadPatch(release, patch, expectedSha256, file, progress)
+                    : CompletableFuture.<DownloadResult>completedFuture(null))
+                    .thenCompose(patched -> patched != null ? CompletableFuture.completedFuture(patched)
+                            : new UpdateDownloader(userAgent(), downloadThrottle, progress, retryPolicy).downloadAsync(release.downloadUri(),
+                            file.toFile(), expectedSha256, jar -> JarValidator.validatePlugin(jar, plugin.getName())));
+            return cache != null
+                    ? cache.obtain(cache.entry(source.id(), latestVersion, expectedSha256), downloadedUpdate.toPath(), download)
+                    : download.to(downloadedUpdate.toPath());
+        }).thenAccept(result -> {
+            recordDownload(downloadedUpdate, latestVersion);
+            listeners.fire(listener -> listener.downloadCompleted(this, latestVersion, downloadedUpdate));
+            if (cache != null) {
+                metrics.cacheLookup(UpdaterMetrics.DOWNLOAD_CACHE, result.cached());
+            }
+            if (result.cached()) {
+                plugin.getLogger().info("Copied update from shared cache to " + downloadedUpdate.getPath() + " (SHA-256 " + result.sha256() + ").");
+            } else {
+                metrics.downloadCompleted(source.id(), result.bytes(), result.elapsed());
+                plugin.getLogger().info(String.format("Downloaded update to %s (%.1f MB at %.1f MB/s, SHA-256 %s).",
+                        downloadedUpdate.getPath(), result.bytes() / 1048576.0, result.megabytesPerSecond(), result.sha256()));
             }
+        }).exceptionally(error -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            metrics.downloadFailed(source.id(), cause);
+            plugin.getLogger().warning("Failed to download update: " + cause.getMessage());
+            return null;
+        });
+    }
 
-            URL url = new URL("https://api.spiget.org/v2/resources/" + resourceId + "/download");
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestProperty("User-Agent", plugin.getName() + "-Updater");
-            connection.setConnectTimeout(5000);
-            connection.setReadTimeout(5000);
+    private CompletableFuture<DownloadResult> downloadPatch(Release release, Patch patch, String expectedSha256, Path target,
+                                                           UpdateDownloader.Progress progress) {
+        Path patchFile = target.resolveSibling(target.getFileName() + ".patch");
+        Path patched = target.resolveSibling(target.getFileName() + ".patched");
+        long started = System.nanoTime();
+        return new UpdateDownloader(userAgent(), downloadThrottle, progress, retryPolicy)
+                .downloadAsync(patch.downloadUri(), patchFile.toFile(), patch.sha256(), null)
+                .thenApplyAsync(transfer -> {
+                    try {
+                        String sha256 = JarPatch.apply(installedJar().toPath(), patchFile, patched);
+                        if (!sha256.equalsIgnoreCase(expectedSha256)) {
+                            throw new IntegrityException("SHA-256 mismatch after patching: expected " + expectedSha256 + ", got " + sha256);
+                        }
+                        JarValidator.validatePlugin(patched, plugin.getName());
+                        UpdateDownloader.moveAtomically(patched, target);
+                        plugin.getLogger().info(String.format("Applied delta patch v%s -> v%s (%.1f MB instead of the full JAR).",
+                                patch.fromVersion(), release.version(), transfer.bytes() / 1048576.0));
+                        return new DownloadResult(sha256, transfer.bytes(), Duration.ofNanos(System.nanoTime() - started), false);
+                    } catch (IOException | URISyntaxException e) {
+                        throw new CompletionException(e);
+                    }
+                }, UpdaterExecutors.worker())
+                .exceptionally(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    plugin.getLogger().warning("Delta update failed, downloading the full JAR instead: " + cause.getMessage());
+                    return null;
+                })
+                .whenComplete((result, error) -> {
+                    try {
+                        Files.deleteIfExists(patchFile);
+                        Files.deleteIfExists(patched);
+                    } catch (IOException ignored) {
+                    }
+                });
+    }
 
-            int responseCode = connection.getResponseCode();
-            if (responseCode != 200) {
-                plugin.getLogger().warning("Failed to download update: HTTP " + responseCode);
-                return;
-            }
+    private File installedJar() throws URISyntaxException {
+        return new File(getClass().getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
 
-            try (var inputStream = connection.getInputStream();
-                 var readableByteChannel = Channels.newChannel(inputStream);
-                 var fileOutputStream = new FileOutputStream(downloadedUpdate)) {
-                fileOutputStream.getChannel().transferFrom(readableByteChannel, 0, Long.MAX_VALUE);
-                plugin.getLogger().info("Downloaded update to " + downloadedUpdate.getPath() + ".");
-            }
-            connection.disconnect();
-        } catch (Exception e) {
-            plugin.getLogger().warning("Failed to download update: " + e.getMessage());
-            downloadedUpdate = null;
+    private void recordDownload(File downloadedUpdate, String version) {
+        state.updateAndGet(current -> current.withDownload(downloadedUpdate, version));
+        try {
+            versionCache.recordDownload(downloadedUpdate, version);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to save update cache: " + e.getMessage());
         }
     }
 
     @Override
     public void handleUpdateOnShutdown() {
+        cancelPeriodicChecks();
+        UpdateState snapshot = state.get();
+        File downloadedUpdate = snapshot.downloadedUpdate();
+        String latestVersion = snapshot.downloadedVersion();
         if (downloadedUpdate == null || !downloadedUpdate.exists()) {
             return;
         }
+        try {
+            JarValidator.validatePlugin(downloadedUpdate.toPath(), plugin.getName());
+        } catch (IntegrityException e) {
+            plugin.getLogger().warning("Refusing to apply update: " + e.getMessage());
+            listeners.fireNow(listener -> listener.applyFailed(this, latestVersion, e));
+            return;
+        }
         try {
             File pluginsFolder = new File("plugins");
-            File currentJar = new File(getClass().getProtectionDomain().getCodeSource().getLocation().toURI());
+            File currentJar = installedJar();
             File[] existingJars = pluginsFolder.listFiles((dir, name) -> name.startsWith(plugin.getName()) && name.endsWith(".jar"));
             if (existingJars != null) {
                 for (File jar : existingJars) {
@@ -160,20 +483,134 @@ public class UpdaterImpl implements UpdaterService {
             }
             File targetFile = new File(pluginsFolder, plugin.getName() + "-" + latestVersion + ".jar");
             Files.move(downloadedUpdate.toPath(), targetFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            recordDownload(null, null);
             plugin.getLogger().info("Moved update to " + targetFile.getPath() + ". Restart server to apply.");
+            listeners.fireNow(listener -> listener.applySucceeded(this, latestVersion, targetFile));
         } catch (Exception e) {
             plugin.getLogger().warning("Failed to apply update: " + e.getMessage());
+            listeners.fireNow(listener -> listener.applyFailed(this, latestVersion, e));
             plugin.getLogger().info("To apply update manually: 1) Stop server. 2) Remove old " + plugin.getName() + " JARs. 3) Move " + downloadedUpdate.getPath() + " to plugins/" + plugin.getName() + "-" + latestVersion + ".jar. 4) Restart server.");
         }
     }
 
+    private String userAgent() {
+        return plugin.getName() + "-Updater";
+    }
+
+    private final class Context implements SourceContext {
+        @Override
+        public String userAgent() {
+            return UpdaterImpl.this.userAgent();
+        }
+
+        @Override
+        public Executor executor() {
+            return UpdaterExecutors.worker();
+        }
+
+        @Override
+        public Release cachedRelease() {
+            return versionCache.getRelease(source.id());
+        }
+
+        @Override
+        public HttpRequest.Builder request(URI uri) {
+            return versionCache.applyConditionalHeaders(UpdaterHttp.request(uri, userAgent()), source.id());
+        }
+
+        @Override
+        public void recordStatus(int statusCode) {
+            metrics.httpStatus(source.id(), statusCode);
+            if (statusCode == 200 || statusCode == 304) {
+                metrics.cacheLookup(UpdaterMetrics.CONDITIONAL_CACHE, statusCode == 304);
+            }
+        }
+
+        @Override
+        public RetryPolicy retryPolicy() {
+            return retryPolicy;
+        }
+
+        @Override
+        public void remember(Release release, HttpHeaders headers) {
+            try {
+                versionCache.update(source.id(), release, headers);
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to save update cache: " + e.getMessage());
+            }
+        }
+    }
+
+    private final class PeriodicCheck implements Runnable {
+        private final Duration interval;
+        private final boolean autoUpdate;
+        private int failures;
+        private ScheduledFuture<?> next;
+        private boolean cancelled;
+
+        private PeriodicCheck(Duration interval, boolean autoUpdate) {
+            this.interval = interval;
+            this.autoUpdate = autoUpdate;
+        }
+
+        @Override
+        public void run() {
+            if (!plugin.isEnabled()) {
+                cancel();
+                return;
+            }
+            checkForUpdatesAsync(autoUpdate).whenComplete((result, error) -> {
+                Duration delay;
+                synchronized (this) {
+                    failures = error == null ? 0 : failures + 1;
+                    delay = failures == 0 ? interval : backoff();
+                }
+                scheduleNext(UpdateScheduler.jitter(delay));
+            });
+        }
+
+        private Duration backoff() {
+            Duration cap = interval.compareTo(MAX_BACKOFF) > 0 ? interval : MAX_BACKOFF;
+            Duration delay = interval.multipliedBy(1L << Math.min(failures, 16));
+            return delay.compareTo(cap) > 0 ? cap : delay;
+        }
+
+        private synchronized void scheduleNext(Duration delay) {
+            if (!cancelled) {
+                next = UpdateScheduler.schedule(this, delay);
+            }
+        }
+
+        private synchronized void cancel() {
+            cancelled = true;
+            if (next != null) {
+                next.cancel(false);
+            }
+        }
+    }
+
+    @Override
+    public void addListener(UpdateListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(UpdateListener listener) {
+        listeners.remove(listener);
+    }
+
     @Override
     public boolean isUpdateAvailable() {
-        return updateAvailable;
+        return state.get().updateAvailable();
     }
 
     @Override
     public String getLatestVersion() {
-        return latestVersion;
+        return state.get().latestVersion();
+    }
+
+    public Instant getLastChecked() {
+        long checkedAt = versionCache.getCheckedAt();
+        return checkedAt == 0 ? null : Instant.ofEpochMilli(checkedAt);
     }
 }
\ No newline at end of file
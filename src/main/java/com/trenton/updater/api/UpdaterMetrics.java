@@ -0,0 +1,30 @@
+package com.trenton.updater.api;
+
+import java.time.Duration;
+
+public interface UpdaterMetrics {
+    String VERSION_CACHE = "version";
+    String CONDITIONAL_CACHE = "conditional";
+    String DOWNLOAD_CACHE = "download";
+
+    UpdaterMetrics NONE = new UpdaterMetrics() {
+    };
+
+    default void checkCompleted(String sourceId, Duration latency) {
+    }
+
+    default void checkFailed(String sourceId, Duration latency, Throwable cause) {
+    }
+
+    default void httpStatus(String sourceId, int statusCode) {
+    }
+
+    default void cacheLookup(String cache, boolean hit) {
+    }
+
+    default void downloadCompleted(String sourceId, long bytes, Duration elapsed) {
+    }
+
+    default void downloadFailed(String sourceId, Throwable cause) {
+    }
+}
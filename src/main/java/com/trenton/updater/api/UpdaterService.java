@@ -1,11 +1,41 @@
 package com.trenton.updater.api;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 public interface UpdaterService {
+    static CompletableFuture<Map<UpdaterService, UpdateResult>> checkAll(Collection<? extends UpdaterService> updaters, boolean autoUpdate) {
+        return UpdaterImpl.checkAll(updaters, autoUpdate);
+    }
+
     void checkForUpdates(boolean autoUpdate);
 
+    default CompletableFuture<UpdateResult> checkForUpdatesAsync(boolean autoUpdate) {
+        return CompletableFuture.supplyAsync(() -> {
+            checkForUpdates(autoUpdate);
+            return new UpdateResult(null, getLatestVersion(), isUpdateAvailable());
+        }, UpdaterExecutors.worker());
+    }
+
+    default void schedulePeriodicChecks(Duration interval, boolean autoUpdate) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support periodic checks");
+    }
+
+    default void cancelPeriodicChecks() {
+    }
+
     boolean isUpdateAvailable();
 
     String getLatestVersion();
 
     void handleUpdateOnShutdown();
-}
\ No newline at end of file
+
+    default void addListener(UpdateListener listener) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support listeners");
+    }
+
+    default void removeListener(UpdateListener listener) {
+    }
+}
@@ -0,0 +1,279 @@
+package com.trenton.updater.api;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class Version implements Comparable<Version> {
+    private static final int CACHE_LIMIT = 1024;
+    private static final String[] NONE = new String[0];
+
+    private final String text;
+    private final String[] segments;
+    private final String[] preRelease;
+
+    private Version(String text, String[] segments, String[] preRelease) {
+        this.text = text;
+        this.segments = segments;
+        this.preRelease = preRelease;
+    }
+
+    public enum Fallback {
+        STRICT,
+        LENIENT,
+        NUMERIC;
+
+        private final Map<String, Version> cache = new ConcurrentHashMap<>();
+    }
+
+    public static Version parse(String text) {
+        return parse(text, Fallback.LENIENT);
+    }
+
+    public static Version parse(String text, Fallback fallback) {
+        Version version = fallback.cache.get(text);
+        if (version != null) {
+            return version;
+        }
+        version = parseSemver(text);
+        if (version == null) {
+            version = switch (fallback) {
+                case STRICT -> throw new IllegalArgumentException("Not a semantic version: " + text);
+                case LENIENT -> parseLenient(text);
+                case NUMERIC -> parseNumeric(text);
+            };
+        }
+        if (fallback.cache.size() >= CACHE_LIMIT) {
+            fallback.cache.clear();
+        }
+        fallback.cache.put(text, version);
+        return version;
+    }
+
+    private static Version parseSemver(String text) {
+        int length = text.length();
+        int i = length > 0 && (text.charAt(0) == 'v' || text.charAt(0) == 'V') ? 1 : 0;
+        Segments core = new Segments();
+        while (true) {
+            int start = i;
+            while (i < length && isDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i == start) {
+                return null;
+            }
+            core.add(stripZeros(text, start, i));
+            if (i < length && text.charAt(i) == '.') {
+                i++;
+            } else {
+                break;
+            }
+        }
+        Segments preRelease = new Segments();
+        if (i < length && text.charAt(i) == '-') {
+            i = readIdentifiers(text, i + 1, preRelease);
+            if (i < 0) {
+                return null;
+            }
+        }
+        if (i < length && text.charAt(i) == '+') {
+            i = readIdentifiers(text, i + 1, new Segments());
+            if (i < 0) {
+                return null;
+            }
+        }
+        return i == length ? new Version(text, core.trimmedCore(), preRelease.toArray()) : null;
+    }
+
+    private static int readIdentifiers(String text, int i, Segments identifiers) {
+        int length = text.length();
+        while (true) {
+            int start = i;
+            while (i < length && isIdentifierChar(text.charAt(i))) {
+                i++;
+            }
+            if (i == start) {
+                return -1;
+            }
+            identifiers.add(isNumeric(text, start, i) ? stripZeros(text, start, i) : text.substring(start, i));
+            if (i < length && text.charAt(i) == '.') {
+                i++;
+            } else {
+                return i;
+            }
+        }
+    }
+
+    private static Version parseLenient(String text) {
+        int length = text.length();
+        int i = 0;
+        while (i < length && !isDigit(text.charAt(i))) {
+            i++;
+        }
+        if (i == length) {
+            throw new IllegalArgumentException("Invalid version format: " + text);
+        }
+        Segments core = new Segments();
+        while (i < length && isDigit(text.charAt(i))) {
+            int start = i;
+            while (i < length && isDigit(text.charAt(i))) {
+                i++;
+            }
+            core.add(stripZeros(text, start, i));
+            if (i + 1 < length && text.charAt(i) == '.' && isDigit(text.charAt(i + 1))) {
+                i++;
+            } else {
+                break;
+            }
+        }
+        Segments qualifiers = new Segments();
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                qualifiers.add(isNumeric(text, start, i) ? stripZeros(text, start, i) : text.substring(start, i));
+            }
+        }
+        return new Version(text, core.trimmedCore(), qualifiers.toArray());
+    }
+
+    private static Version parseNumeric(String text) {
+        Segments core = new Segments();
+        StringBuilder digits = new StringBuilder();
+        boolean anyDigit = false;
+        for (int i = 0, length = text.length(); i <= length; i++) {
+            char c = i < length ? text.charAt(i) : '.';
+            if (isDigit(c)) {
+                anyDigit = true;
+                if (c != '0' || digits.length() > 0) {
+                    digits.append(c);
+                }
+            } else if (c == '.') {
+                core.add(digits.length() == 0 ? "0" : digits.toString());
+                digits.setLength(0);
+            }
+        }
+        if (!anyDigit) {
+            throw new IllegalArgumentException("Invalid version format: " + text);
+        }
+        return new Version(text, core.trimmedCore(), NONE);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isIdentifierChar(char c) {
+        return isDigit(c) || c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '-';
+    }
+
+    private static boolean isNumeric(String text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String stripZeros(String text, int start, int end) {
+        while (start < end - 1 && text.charAt(start) == '0') {
+            start++;
+        }
+        return text.substring(start, end);
+    }
+
+    public boolean isPreRelease() {
+        return preRelease.length > 0;
+    }
+
+    public boolean isNewerThan(Version other) {
+        return compareTo(other) > 0;
+    }
+
+    @Override
+    public int compareTo(Version other) {
+        int length = Math.max(segments.length, other.segments.length);
+        for (int i = 0; i < length; i++) {
+            int result = compareNumbers(i < segments.length ? segments[i] : "0",
+                    i < other.segments.length ? other.segments[i] : "0");
+            if (result != 0) {
+                return result;
+            }
+        }
+        if (preRelease.length == 0 || other.preRelease.length == 0) {
+            return Integer.compare(other.preRelease.length == 0 ? 0 : 1, preRelease.length == 0 ? 0 : 1);
+        }
+        int shared = Math.min(preRelease.length, other.preRelease.length);
+        for (int i = 0; i < shared; i++) {
+            int result = compareIdentifiers(preRelease[i], other.preRelease[i]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(preRelease.length, other.preRelease.length);
+    }
+
+    private static int compareNumbers(String a, String b) {
+        if (a.length() != b.length()) {
+            return Integer.compare(a.length(), b.length());
+        }
+        return a.compareTo(b);
+    }
+
+    private static int compareIdentifiers(String a, String b) {
+        boolean aNumeric = isNumeric(a, 0, a.length());
+        boolean bNumeric = isNumeric(b, 0, b.length());
+        if (aNumeric && bNumeric) {
+            return compareNumbers(a, b);
+        }
+        if (aNumeric != bNumeric) {
+            return aNumeric ? -1 : 1;
+        }
+        return a.compareTo(b);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof Version other
+                && Arrays.equals(segments, other.segments) && Arrays.equals(preRelease, other.preRelease);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(segments) + Arrays.hashCode(preRelease);
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    private static final class Segments {
+        private String[] values = new String[4];
+        private int count;
+
+        void add(String value) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = value;
+        }
+
+        String[] trimmedCore() {
+            while (count > 0 && values[count - 1].equals("0")) {
+                count--;
+            }
+            return toArray();
+        }
+
+        String[] toArray() {
+            return count == 0 ? NONE : Arrays.copyOf(values, count);
+        }
+    }
+}
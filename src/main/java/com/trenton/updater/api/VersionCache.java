@@ -0,0 +1,130 @@
+package com.trenton.updater.api;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
+
+final class VersionCache {
+    private static final String FILE_NAME = "version-cache.properties";
+    private final File file;
+    private String source;
+    private String version;
+    private String downloadUrl;
+    private String sha256;
+    private String etag;
+    private String lastModified;
+    private long checkedAt;
+    private String downloadedVersion;
+    private String downloadedFile;
+
+    VersionCache(File folder) {
+        this.file = new File(folder, FILE_NAME);
+    }
+
+    synchronized void load() throws IOException {
+        if (!file.isFile()) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        source = properties.getProperty("source");
+        version = properties.getProperty("version");
+        downloadUrl = properties.getProperty("download-url");
+        sha256 = properties.getProperty("sha256");
+        etag = properties.getProperty("etag");
+        lastModified = properties.getProperty("last-modified");
+        checkedAt = Long.parseLong(properties.getProperty("checked-at", "0"));
+        downloadedVersion = properties.getProperty("downloaded-version");
+        downloadedFile = properties.getProperty("downloaded-file");
+    }
+
+    synchronized Release getRelease(String sourceId) {
+        if (version == null || downloadUrl == null || !sourceId.equals(source)) {
+            return null;
+        }
+        return new Release(version, URI.create(downloadUrl), sha256);
+    }
+
+    synchronized long getCheckedAt() {
+        return checkedAt;
+    }
+
+    synchronized String getDownloadedVersion() {
+        return downloadedVersion;
+    }
+
+    synchronized File getDownloadedFile() {
+        return downloadedFile == null ? null : new File(downloadedFile);
+    }
+
+    synchronized HttpRequest.Builder applyConditionalHeaders(HttpRequest.Builder builder, String sourceId) {
+        if (getRelease(sourceId) == null) {
+            return builder;
+        }
+        if (etag != null) {
+            builder.header("If-None-Match", etag);
+        }
+        if (lastModified != null) {
+            builder.header("If-Modified-Since", lastModified);
+        }
+        return builder;
+    }
+
+    synchronized void update(String sourceId, Release release, HttpHeaders headers) throws IOException {
+        boolean unchanged = release.equals(getRelease(sourceId));
+        this.source = sourceId;
+        this.version = release.version();
+        this.downloadUrl = release.downloadUri() == null ? null : release.downloadUri().toString();
+        this.sha256 = release.sha256();
+        this.etag = headers.firstValue("ETag").orElse(unchanged ? etag : null);
+        this.lastModified = headers.firstValue("Last-Modified").orElse(unchanged ? lastModified : null);
+        this.checkedAt = System.currentTimeMillis();
+        save();
+    }
+
+    synchronized void recordDownload(File file, String version) throws IOException {
+        downloadedFile = file == null ? null : file.getPath();
+        downloadedVersion = version;
+        save();
+    }
+
+    private void save() throws IOException {
+        Properties properties = new Properties();
+        if (source != null) {
+            properties.setProperty("source", source);
+        }
+        if (version != null) {
+            properties.setProperty("version", version);
+        }
+        if (downloadUrl != null) {
+            properties.setProperty("download-url", downloadUrl);
+        }
+        if (sha256 != null) {
+            properties.setProperty("sha256", sha256);
+        }
+        properties.setProperty("checked-at", Long.toString(checkedAt));
+        if (downloadedVersion != null && downloadedFile != null) {
+            properties.setProperty("downloaded-version", downloadedVersion);
+            properties.setProperty("downloaded-file", downloadedFile);
+        }
+        if (etag != null) {
+            properties.setProperty("etag", etag);
+        }
+        if (lastModified != null) {
+            properties.setProperty("last-modified", lastModified);
+        }
+        Files.createDirectories(file.getParentFile().toPath());
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            properties.store(writer, null);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.trenton.updater.api;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ChecksumManifestTest {
+    private static final String HASH_12 = "1".repeat(64);
+    private static final String HASH_123 = "2".repeat(64);
+    private static final String HASH_2 = "3".repeat(64);
+    private static final String MANIFEST = "# sha256sum output\n"
+            + HASH_123 + "  Plugin-1.2.3.jar\n"
+            + HASH_12 + " *Plugin-1.2.jar\n"
+            + HASH_2.toUpperCase() + "  dist/Plugin-2.0.jar\n"
+            + "deadbeef  Plugin-3.0.jar\n";
+
+    @Test
+    void matchesExactFileNameNotPrefixVersions() {
+        assertEquals(HASH_12, ChecksumManifest.findSha256(MANIFEST, "Plugin", "1.2"));
+        assertEquals(HASH_123, ChecksumManifest.findSha256(MANIFEST, "Plugin", "1.2.3"));
+        assertNull(ChecksumManifest.findSha256(MANIFEST, "Plugin", "1"));
+    }
+
+    @Test
+    void ignoresDirectoriesAndNormalizesCase() {
+        assertEquals(HASH_2, ChecksumManifest.findSha256(MANIFEST, "Plugin", "2.0"));
+    }
+
+    @Test
+    void matchesBareVersionEntries() {
+        assertEquals(HASH_12, ChecksumManifest.findSha256(HASH_12 + "  1.2\n", "Plugin", "1.2"));
+    }
+
+    @Test
+    void skipsMalformedLinesAndOtherPlugins() {
+        assertNull(ChecksumManifest.findSha256(MANIFEST, "Plugin", "3.0"));
+        assertNull(ChecksumManifest.findSha256(MANIFEST, "Other", "1.2"));
+    }
+}
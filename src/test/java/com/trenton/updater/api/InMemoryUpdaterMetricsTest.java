@@ -0,0 +1,29 @@
+package com.trenton.updater.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InMemoryUpdaterMetricsTest {
+    @Test
+    void latencyHistogramIsCumulative() {
+        InMemoryUpdaterMetrics metrics = new InMemoryUpdaterMetrics();
+        metrics.checkCompleted("spiget:1", Duration.ofMillis(5));
+        metrics.checkCompleted("spiget:1", Duration.ofMillis(10));
+        metrics.checkCompleted("spiget:1", Duration.ofMillis(40));
+        metrics.checkFailed("spiget:1", Duration.ofMillis(700), new IOException("timeout"));
+        metrics.checkCompleted("spiget:1", Duration.ofSeconds(30));
+        Map<String, Long> histogram = metrics.getLatencyHistogram();
+        assertEquals(2L, histogram.get("le_10ms").longValue());
+        assertEquals(2L, histogram.get("le_25ms").longValue());
+        assertEquals(3L, histogram.get("le_50ms").longValue());
+        assertEquals(3L, histogram.get("le_500ms").longValue());
+        assertEquals(4L, histogram.get("le_1000ms").longValue());
+        assertEquals(4L, histogram.get("le_10000ms").longValue());
+        assertEquals(5L, histogram.get("le_inf").longValue());
+    }
+}
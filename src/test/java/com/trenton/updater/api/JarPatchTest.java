@@ -0,0 +1,87 @@
+package com.trenton.updater.api;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JarPatchTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripIsByteIdentical() throws IOException {
+        Path base = jar("base.jar", 1_000_000_000L, 1, 2, 3, 4);
+        Path target = jar("target.jar", 1_000_000_000L, 1, 2, 3, 5);
+        Path patch = dir.resolve("update.patch");
+        JarPatch.create(base, target, patch);
+        Path output = dir.resolve("patched.jar");
+        String sha256 = JarPatch.apply(base, patch, output);
+        assertArrayEquals(Files.readAllBytes(target), Files.readAllBytes(output));
+        assertEquals(HexFormat.of().formatHex(UpdateDownloader.sha256().digest(Files.readAllBytes(target))), sha256);
+    }
+
+    @Test
+    void rebuiltTimestampsStillProduceASmallPatch() throws IOException {
+        Path base = jar("base.jar", 1_000_000_000L, 1, 2, 3, 4, 5, 6, 7, 8);
+        Path target = jar("target.jar", 1_700_000_000_000L, 1, 2, 3, 4, 5, 6, 7, 9);
+        Path patch = dir.resolve("update.patch");
+        long copied = JarPatch.create(base, target, patch);
+        assertTrue(copied > 0);
+        assertTrue(Files.size(patch) < Files.size(target) / 4, "patch is " + Files.size(patch) + " bytes");
+        Path output = dir.resolve("patched.jar");
+        JarPatch.apply(base, patch, output);
+        assertArrayEquals(Files.readAllBytes(target), Files.readAllBytes(output));
+    }
+
+    @Test
+    void rejectsPatchForADifferentBase() throws IOException {
+        Path base = jar("base.jar", 1_000_000_000L, 1, 2, 3, 4);
+        Path target = jar("target.jar", 1_000_000_000L, 1, 2, 3, 5);
+        Path other = jar("other.jar", 1_000_000_000L, 1, 2, 3, 6);
+        Path patch = dir.resolve("update.patch");
+        JarPatch.create(base, target, patch);
+        assertThrows(IntegrityException.class, () -> JarPatch.apply(other, patch, dir.resolve("patched.jar")));
+    }
+
+    @Test
+    void refusesPatchThatSavesTooLittle() throws IOException {
+        Path base = jar("base.jar", 1_000_000_000L, 1, 2);
+        Path target = jar("target.jar", 1_000_000_000L, 3, 4);
+        Path patch = dir.resolve("update.patch");
+        assertThrows(IOException.class, () -> JarPatch.create(base, target, patch));
+        assertFalse(Files.exists(patch));
+    }
+
+    private Path jar(String name, long time, int... seeds) throws IOException {
+        Path jar = dir.resolve(name);
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(jar))) {
+            for (int seed : seeds) {
+                ZipEntry entry = new ZipEntry("com/example/Class" + seed + ".class");
+                entry.setTime(time);
+                out.putNextEntry(entry);
+                out.write(content(seed));
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    private static byte[] content(int seed) {
+        byte[] bytes = new byte[64 * 1024];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,81 @@
+package com.trenton.updater.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+    @Test
+    void coalescesConcurrentLoads() {
+        SingleFlight<String, String> flight = new SingleFlight<>(Duration.ZERO);
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        CompletableFuture<String> first = flight.get("key", () -> {
+            loads.incrementAndGet();
+            return pending;
+        });
+        CompletableFuture<String> second = flight.get("key", () -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        pending.complete("value");
+        assertEquals("value", first.join());
+        assertEquals("value", second.join());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void cancellingOneCallerDoesNotCancelTheSharedLoad() {
+        SingleFlight<String, String> flight = new SingleFlight<>(Duration.ZERO);
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        CompletableFuture<String> first = flight.get("key", () -> pending);
+        CompletableFuture<String> second = flight.get("key", () -> pending);
+        first.cancel(false);
+        pending.complete("value");
+        assertEquals("value", second.join());
+    }
+
+    @Test
+    void servesCachedValueWithinTtl() {
+        SingleFlight<String, String> flight = new SingleFlight<>(Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            assertEquals("value", flight.get("key", () -> {
+                loads.incrementAndGet();
+                return CompletableFuture.completedFuture("value");
+            }).join());
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void reloadsAfterTtlExpires() throws InterruptedException {
+        SingleFlight<String, Integer> flight = new SingleFlight<>(Duration.ofMillis(1));
+        AtomicInteger loads = new AtomicInteger();
+        flight.get("key", () -> CompletableFuture.completedFuture(loads.incrementAndGet())).join();
+        Thread.sleep(20);
+        assertEquals(2, flight.get("key", () -> CompletableFuture.completedFuture(loads.incrementAndGet())).join().intValue());
+    }
+
+    @Test
+    void doesNotCacheFailures() {
+        SingleFlight<String, String> flight = new SingleFlight<>(Duration.ofMinutes(1));
+        CompletableFuture<String> failed = flight.get("key", () -> CompletableFuture.failedFuture(new IllegalStateException("down")));
+        assertThrows(RuntimeException.class, failed::join);
+        assertEquals("value", flight.get("key", () -> CompletableFuture.completedFuture("value")).join());
+    }
+
+    @Test
+    void zeroTtlClearsTheCache() {
+        SingleFlight<String, String> flight = new SingleFlight<>(Duration.ofMinutes(1));
+        flight.get("key", () -> CompletableFuture.completedFuture("old")).join();
+        flight.setTtl(Duration.ZERO);
+        assertEquals("new", flight.get("key", () -> CompletableFuture.completedFuture("new")).join());
+        assertEquals("newer", flight.get("key", () -> CompletableFuture.completedFuture("newer")).join());
+    }
+}
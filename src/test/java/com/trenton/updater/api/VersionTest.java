@@ -0,0 +1,74 @@
+package com.trenton.updater.api;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VersionTest {
+    @Test
+    void ordersPreReleasesBySemverPrecedence() {
+        String[] ordered = {"1.0.0-alpha", "1.0.0-alpha.1", "1.0.0-alpha.beta", "1.0.0-beta", "1.0.0-beta.2",
+                "1.0.0-beta.11", "1.0.0-rc.1", "1.0.0", "1.0.1", "1.1.0", "2.0.0"};
+        for (int i = 0; i + 1 < ordered.length; i++) {
+            assertTrue(Version.parse(ordered[i + 1]).isNewerThan(Version.parse(ordered[i])), ordered[i + 1] + " > " + ordered[i]);
+            assertFalse(Version.parse(ordered[i]).isNewerThan(Version.parse(ordered[i + 1])), ordered[i] + " < " + ordered[i + 1]);
+        }
+    }
+
+    @Test
+    void ignoresBuildMetadata() {
+        assertEquals(0, Version.parse("1.2.3+build.1").compareTo(Version.parse("1.2.3+build.2")));
+        assertEquals(0, Version.parse("1.2.3-rc.1+sha.abc").compareTo(Version.parse("1.2.3-rc.1")));
+    }
+
+    @Test
+    void treatsTrailingZerosPrefixAndLeadingZerosAsEqual() {
+        assertEquals(0, Version.parse("1.0").compareTo(Version.parse("1.0.0")));
+        assertEquals(0, Version.parse("v2.1").compareTo(Version.parse("2.1.0")));
+        assertEquals(0, Version.parse("1.02").compareTo(Version.parse("1.2")));
+        assertTrue(Version.parse("1.10").isNewerThan(Version.parse("1.9")));
+    }
+
+    @Test
+    void comparesSegmentsLongerThanLong() {
+        Version huge = Version.parse("1.99999999999999999999999");
+        assertTrue(huge.isNewerThan(Version.parse("1.9223372036854775807")));
+        assertTrue(Version.parse("1.0.0-alpha.100000000000000000000").isNewerThan(Version.parse("1.0.0-alpha.99999999999999999999")));
+        assertEquals(0, huge.compareTo(Version.parse("1.99999999999999999999999.0")));
+    }
+
+    @Test
+    void strictRejectsNonSemver() {
+        assertThrows(IllegalArgumentException.class, () -> Version.parse("Build 1.2 (beta)", Version.Fallback.STRICT));
+        assertThrows(IllegalArgumentException.class, () -> Version.parse("1.2.3-", Version.Fallback.STRICT));
+        assertEquals(0, Version.parse("1.2.3-beta", Version.Fallback.STRICT).compareTo(Version.parse("1.2.3-beta")));
+    }
+
+    @Test
+    void lenientKeepsQualifiersAsPreRelease() {
+        Version build = Version.parse("Release 2.0 (b45)", Version.Fallback.LENIENT);
+        assertTrue(build.isPreRelease());
+        assertTrue(Version.parse("2.0").isNewerThan(build));
+        assertTrue(build.isNewerThan(Version.parse("1.9")));
+        assertThrows(IllegalArgumentException.class, () -> Version.parse("latest", Version.Fallback.LENIENT));
+    }
+
+    @Test
+    void numericIgnoresEverythingButDigitsAndDots() {
+        Version version = Version.parse("1.2a", Version.Fallback.NUMERIC);
+        assertFalse(version.isPreRelease());
+        assertEquals(0, version.compareTo(Version.parse("1.2")));
+        assertTrue(Version.parse("1.10b", Version.Fallback.NUMERIC).isNewerThan(Version.parse("1.9c", Version.Fallback.NUMERIC)));
+        assertThrows(IllegalArgumentException.class, () -> Version.parse("snapshot", Version.Fallback.NUMERIC));
+    }
+
+    @Test
+    void cachesParsedVersionsPerFallback() {
+        assertSame(Version.parse("3.1.4", Version.Fallback.LENIENT), Version.parse("3.1.4", Version.Fallback.LENIENT));
+        assertEquals(Version.parse("3.1.4", Version.Fallback.LENIENT), Version.parse("3.1.4", Version.Fallback.NUMERIC));
+    }
+}